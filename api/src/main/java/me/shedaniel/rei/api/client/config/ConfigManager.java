@@ -41,7 +41,8 @@ public interface ConfigManager extends Reloadable<REIClientPlugin> {
     }
     
     /**
-     * Saves the config.
+     * Saves the config, the config is written to the disk asynchronously,
+     * consecutive saves in a short period of time are merged into a single write.
      */
     void saveConfig();
     
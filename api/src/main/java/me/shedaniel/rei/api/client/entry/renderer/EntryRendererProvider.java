@@ -40,6 +40,29 @@ public interface EntryRendererProvider<T> {
         return EntryRenderer.empty();
     }
     
+    /**
+     * Wraps a provider whose result depends on the contents of the stack, rather than only on the
+     * definition and the item or fluid of the stack.
+     *
+     * @param provider the provider to wrap
+     * @param <T>      the entry type
+     * @return the stack dependent provider
+     * @see #isStackDependent()
+     */
+    static <T> EntryRendererProvider<T> stackDependent(EntryRendererProvider<T> provider) {
+        return new EntryRendererProvider<T>() {
+            @Override
+            public EntryRenderer<T> provide(EntryStack<T> entry, EntryRenderer<T> last) {
+                return provider.provide(entry, last);
+            }
+            
+            @Override
+            public boolean isStackDependent() {
+                return true;
+            }
+        };
+    }
+    
     /**
      * Returns a new {@link EntryRenderer} for a specific {@link EntryStack},
      * a previous {@link EntryRenderer} will be provided, this may be an empty renderer.
@@ -51,4 +74,14 @@ public interface EntryRendererProvider<T> {
      * @return the new entry renderer, {@code null} is not accepted here
      */
     EntryRenderer<T> provide(EntryStack<T> entry, EntryRenderer<T> last);
+    
+    /**
+     * Returns whether the provided renderer depends on the contents of the stack, for example its tag.
+     * Renderers are otherwise resolved once per entry definition and item or fluid, and reused for every stack.
+     *
+     * @return whether the provided renderer depends on the contents of the stack
+     */
+    default boolean isStackDependent() {
+        return false;
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.api.client.gui.animator;
+
+import net.minecraft.Util;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Frame-scoped clock shared by every animator, the timestamp is sampled once when a frame begins,
+ * so that every animator updated during the frame eases against the same time, and is updated at most once.
+ * <p>
+ * Outside of a frame, animators read the clock directly.
+ */
+@ApiStatus.Internal
+public final class AnimatorScheduler {
+    private static long frame;
+    private static long frameMillis = -1;
+    
+    private AnimatorScheduler() {}
+    
+    public static void beginFrame() {
+        frame++;
+        frameMillis = Util.getMillis();
+    }
+    
+    public static void endFrame() {
+        frameMillis = -1;
+    }
+    
+    static long millis() {
+        long millis = frameMillis;
+        return millis >= 0 ? millis : Util.getMillis();
+    }
+    
+    /**
+     * Returns the id of the current frame, or {@code -1} if there is no frame in progress.
+     */
+    static long frame() {
+        return frameMillis >= 0 ? frame : -1;
+    }
+}
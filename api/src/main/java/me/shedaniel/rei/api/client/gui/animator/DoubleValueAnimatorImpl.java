@@ -24,7 +24,6 @@
 package me.shedaniel.rei.api.client.gui.animator;
 
 import me.shedaniel.clothconfig2.impl.EasingMethod;
-import net.minecraft.Util;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
@@ -33,6 +32,7 @@ final class DoubleValueAnimatorImpl extends NumberAnimator<Double> {
     private double target;
     private long start;
     private long duration;
+    private long lastFrame = -1;
     
     DoubleValueAnimatorImpl() {
     }
@@ -53,7 +53,7 @@ final class DoubleValueAnimatorImpl extends NumberAnimator<Double> {
     
     private void set(double value, long duration) {
         this.target = value;
-        this.start = Util.getMillis();
+        this.start = AnimatorScheduler.millis();
         
         if (duration > 0) {
             this.duration = duration;
@@ -65,12 +65,21 @@ final class DoubleValueAnimatorImpl extends NumberAnimator<Double> {
     
     @Override
     public void update(double delta) {
-        if (duration != 0) {
-            if (amount < target) {
-                this.amount = Math.min(ease(amount, target + (target - amount), Math.min(((double) Util.getMillis() - start) / duration * delta * 3.0D, 1.0D), EasingMethod.EasingMethodImpl.LINEAR), target);
-            } else if (amount > target) {
-                this.amount = Math.max(ease(amount, target - (amount - target), Math.min(((double) Util.getMillis() - start) / duration * delta * 3.0D, 1.0D), EasingMethod.EasingMethodImpl.LINEAR), target);
-            }
+        // settled animators have nothing to ease
+        if (duration == 0) return;
+        long frame = AnimatorScheduler.frame();
+        if (frame != -1) {
+            if (frame == lastFrame) return;
+            lastFrame = frame;
+        }
+        double progress = Math.min(((double) AnimatorScheduler.millis() - start) / duration * delta * 3.0D, 1.0D);
+        if (amount < target) {
+            this.amount = Math.min(ease(amount, target + (target - amount), progress, EasingMethod.EasingMethodImpl.LINEAR), target);
+        } else if (amount > target) {
+            this.amount = Math.max(ease(amount, target - (amount - target), progress, EasingMethod.EasingMethodImpl.LINEAR), target);
+        }
+        if (amount == target) {
+            this.duration = 0;
         }
     }
     
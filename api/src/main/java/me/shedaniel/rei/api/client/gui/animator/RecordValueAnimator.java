@@ -24,15 +24,49 @@
 package me.shedaniel.rei.api.client.gui.animator;
 
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Objects;
 
+/**
+ * An animator composing the values of its dependencies into a record.
+ * {@link #value()} composes a new record on every call, while {@link #sharedValue()} reuses the composed record
+ * until the value of any dependency changes.
+ * <p>
+ * Number dependencies are compared by their primitive value, without boxing.
+ */
 @ApiStatus.Internal
 final class RecordValueAnimator<T, A extends RecordValueAnimator.Arg<T>> implements ValueAnimator<T> {
     private final A arg;
+    /**
+     * The dependencies, {@code null} where the dependency is a {@link NumberAnimator}.
+     */
+    private final ValueAnimator<?>[] objectDependencies;
+    /**
+     * The number dependencies, {@code null} where the dependency is not a {@link NumberAnimator}.
+     */
+    private final NumberAnimator<?>[] numberDependencies;
+    private final Object[] objectValues;
+    private final double[] numberValues;
+    @Nullable
+    private T value;
     
     RecordValueAnimator(A arg) {
         this.arg = arg;
+        List<ValueAnimator<?>> dependencies = arg.dependencies();
+        this.objectDependencies = new ValueAnimator<?>[dependencies.size()];
+        this.numberDependencies = new NumberAnimator<?>[dependencies.size()];
+        for (int i = 0; i < dependencies.size(); i++) {
+            ValueAnimator<?> dependency = dependencies.get(i);
+            if (dependency instanceof NumberAnimator<?> numberDependency) {
+                this.numberDependencies[i] = numberDependency;
+            } else {
+                this.objectDependencies[i] = dependency;
+            }
+        }
+        this.objectValues = new Object[dependencies.size()];
+        this.numberValues = new double[dependencies.size()];
     }
     
     @Override
@@ -51,10 +85,37 @@ final class RecordValueAnimator<T, A extends RecordValueAnimator.Arg<T>> impleme
         return arg.value();
     }
     
+    @Override
+    public T sharedValue() {
+        boolean changed = value == null;
+        for (int i = 0; i < numberValues.length; i++) {
+            NumberAnimator<?> numberDependency = numberDependencies[i];
+            if (numberDependency != null) {
+                double numberValue = numberDependency.doubleValue();
+                // compare the bits, so that NaN is equal to itself like with Double#equals
+                if (Double.doubleToLongBits(numberValues[i]) != Double.doubleToLongBits(numberValue)) {
+                    numberValues[i] = numberValue;
+                    changed = true;
+                }
+            } else {
+                Object objectValue = objectDependencies[i].value();
+                if (!Objects.equals(objectValues[i], objectValue)) {
+                    objectValues[i] = objectValue;
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            value = arg.value();
+        }
+        return value;
+    }
+    
     @Override
     public void update(double delta) {
-        for (ValueAnimator<?> dependency : arg.dependencies()) {
-            dependency.update(delta);
+        List<ValueAnimator<?>> dependencies = arg.dependencies();
+        for (int i = 0; i < dependencies.size(); i++) {
+            dependencies.get(i).update(delta);
         }
     }
     
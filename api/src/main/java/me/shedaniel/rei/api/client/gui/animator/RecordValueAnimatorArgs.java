@@ -39,18 +39,18 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A1> a1;
         private final Op<A1, T> op;
         private final Up<A1, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg1(ValueAnimator<A1> a1, Op<A1, T> op, Up<A1, T> up) {
             this.a1 = a1;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -84,20 +84,19 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A2> a2;
         private final Op<A1, A2, T> op;
         private final Up<A1, A2, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg2(ValueAnimator<A1> a1, ValueAnimator<A2> a2, Op<A1, A2, T> op, Up<A1, A2, T> up) {
             this.a1 = a1;
             this.a2 = a2;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -132,6 +131,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A3> a3;
         private final Op<A1, A2, A3, T> op;
         private final Up<A1, A2, A3, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg3(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, Op<A1, A2, A3, T> op, Up<A1, A2, A3, T> up) {
             this.a1 = a1;
@@ -139,15 +139,12 @@ class RecordValueAnimatorArgs {
             this.a3 = a3;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -183,6 +180,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A4> a4;
         private final Op<A1, A2, A3, A4, T> op;
         private final Up<A1, A2, A3, A4, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg4(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, Op<A1, A2, A3, A4, T> op, Up<A1, A2, A3, A4, T> up) {
             this.a1 = a1;
@@ -191,16 +189,12 @@ class RecordValueAnimatorArgs {
             this.a4 = a4;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -237,6 +231,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A5> a5;
         private final Op<A1, A2, A3, A4, A5, T> op;
         private final Up<A1, A2, A3, A4, A5, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg5(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, Op<A1, A2, A3, A4, A5, T> op, Up<A1, A2, A3, A4, A5, T> up) {
             this.a1 = a1;
@@ -246,17 +241,12 @@ class RecordValueAnimatorArgs {
             this.a5 = a5;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -294,6 +284,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A6> a6;
         private final Op<A1, A2, A3, A4, A5, A6, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg6(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, Op<A1, A2, A3, A4, A5, A6, T> op, Up<A1, A2, A3, A4, A5, A6, T> up) {
             this.a1 = a1;
@@ -304,18 +295,12 @@ class RecordValueAnimatorArgs {
             this.a6 = a6;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -354,6 +339,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A7> a7;
         private final Op<A1, A2, A3, A4, A5, A6, A7, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg7(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, Op<A1, A2, A3, A4, A5, A6, A7, T> op, Up<A1, A2, A3, A4, A5, A6, A7, T> up) {
             this.a1 = a1;
@@ -365,19 +351,12 @@ class RecordValueAnimatorArgs {
             this.a7 = a7;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -417,6 +396,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A8> a8;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg8(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, Op<A1, A2, A3, A4, A5, A6, A7, A8, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, T> up) {
             this.a1 = a1;
@@ -429,20 +409,12 @@ class RecordValueAnimatorArgs {
             this.a8 = a8;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -483,6 +455,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A9> a9;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg9(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, T> up) {
             this.a1 = a1;
@@ -496,21 +469,12 @@ class RecordValueAnimatorArgs {
             this.a9 = a9;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -552,6 +516,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A10> a10;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg10(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, T> up) {
             this.a1 = a1;
@@ -566,22 +531,12 @@ class RecordValueAnimatorArgs {
             this.a10 = a10;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -624,6 +579,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A11> a11;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg11(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, T> up) {
             this.a1 = a1;
@@ -639,23 +595,12 @@ class RecordValueAnimatorArgs {
             this.a11 = a11;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -699,6 +644,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A12> a12;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg12(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, T> up) {
             this.a1 = a1;
@@ -715,24 +661,12 @@ class RecordValueAnimatorArgs {
             this.a12 = a12;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -777,6 +711,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A13> a13;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg13(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, T> up) {
             this.a1 = a1;
@@ -794,25 +729,12 @@ class RecordValueAnimatorArgs {
             this.a13 = a13;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -858,6 +780,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A14> a14;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg14(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, T> up) {
             this.a1 = a1;
@@ -876,26 +799,12 @@ class RecordValueAnimatorArgs {
             this.a14 = a14;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -942,6 +851,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A15> a15;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg15(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, ValueAnimator<A15> a15, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, T> up) {
             this.a1 = a1;
@@ -961,27 +871,12 @@ class RecordValueAnimatorArgs {
             this.a15 = a15;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .add(a15)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -1029,6 +924,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A16> a16;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg16(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, ValueAnimator<A15> a15, ValueAnimator<A16> a16, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, T> up) {
             this.a1 = a1;
@@ -1049,28 +945,12 @@ class RecordValueAnimatorArgs {
             this.a16 = a16;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .add(a15)
-                    .add(a16)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -1119,6 +999,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A17> a17;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg17(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, ValueAnimator<A15> a15, ValueAnimator<A16> a16, ValueAnimator<A17> a17, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, T> up) {
             this.a1 = a1;
@@ -1140,29 +1021,12 @@ class RecordValueAnimatorArgs {
             this.a17 = a17;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .add(a15)
-                    .add(a16)
-                    .add(a17)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -1212,6 +1076,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A18> a18;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg18(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, ValueAnimator<A15> a15, ValueAnimator<A16> a16, ValueAnimator<A17> a17, ValueAnimator<A18> a18, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, T> up) {
             this.a1 = a1;
@@ -1234,30 +1099,12 @@ class RecordValueAnimatorArgs {
             this.a18 = a18;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .add(a15)
-                    .add(a16)
-                    .add(a17)
-                    .add(a18)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -1308,6 +1155,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A19> a19;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg19(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, ValueAnimator<A15> a15, ValueAnimator<A16> a16, ValueAnimator<A17> a17, ValueAnimator<A18> a18, ValueAnimator<A19> a19, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, T> up) {
             this.a1 = a1;
@@ -1331,31 +1179,12 @@ class RecordValueAnimatorArgs {
             this.a19 = a19;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .add(a15)
-                    .add(a16)
-                    .add(a17)
-                    .add(a18)
-                    .add(a19)
-                    .build();
+            return dependencies;
         }
         
         @Override
@@ -1407,6 +1236,7 @@ class RecordValueAnimatorArgs {
         private final ValueAnimator<A20> a20;
         private final Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, T> op;
         private final Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, T> up;
+        private final List<ValueAnimator<?>> dependencies;
         
         public Arg20(ValueAnimator<A1> a1, ValueAnimator<A2> a2, ValueAnimator<A3> a3, ValueAnimator<A4> a4, ValueAnimator<A5> a5, ValueAnimator<A6> a6, ValueAnimator<A7> a7, ValueAnimator<A8> a8, ValueAnimator<A9> a9, ValueAnimator<A10> a10, ValueAnimator<A11> a11, ValueAnimator<A12> a12, ValueAnimator<A13> a13, ValueAnimator<A14> a14, ValueAnimator<A15> a15, ValueAnimator<A16> a16, ValueAnimator<A17> a17, ValueAnimator<A18> a18, ValueAnimator<A19> a19, ValueAnimator<A20> a20, Op<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, T> op, Up<A1, A2, A3, A4, A5, A6, A7, A8, A9, A10, A11, A12, A13, A14, A15, A16, A17, A18, A19, A20, T> up) {
             this.a1 = a1;
@@ -1431,32 +1261,12 @@ class RecordValueAnimatorArgs {
             this.a20 = a20;
             this.op = op;
             this.up = up;
+            this.dependencies = ImmutableList.<ValueAnimator<?>>of(a1, a2, a3, a4, a5, a6, a7, a8, a9, a10, a11, a12, a13, a14, a15, a16, a17, a18, a19, a20);
         }
         
         @Override
         public List<ValueAnimator<?>> dependencies() {
-            return ImmutableList.<ValueAnimator<?>>builder()
-                    .add(a1)
-                    .add(a2)
-                    .add(a3)
-                    .add(a4)
-                    .add(a5)
-                    .add(a6)
-                    .add(a7)
-                    .add(a8)
-                    .add(a9)
-                    .add(a10)
-                    .add(a11)
-                    .add(a12)
-                    .add(a13)
-                    .add(a14)
-                    .add(a15)
-                    .add(a16)
-                    .add(a17)
-                    .add(a18)
-                    .add(a19)
-                    .add(a20)
-                    .build();
+            return dependencies;
         }
         
         @Override
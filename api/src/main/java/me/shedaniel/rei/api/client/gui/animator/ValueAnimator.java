@@ -185,6 +185,17 @@ public interface ValueAnimator<T> extends ValueProvider<T> {
         return new ConventionValueAnimator<>(this, convention, duration);
     }
     
+    /**
+     * Returns the current value, which may be the same instance as the value returned by previous calls.
+     * Unlike {@link #value()}, the returned value must not be mutated.
+     *
+     * @return the current value
+     */
+    @ApiStatus.Internal
+    default T sharedValue() {
+        return value();
+    }
+    
     @Override
     default void completeImmediately() {
         setAs(target());
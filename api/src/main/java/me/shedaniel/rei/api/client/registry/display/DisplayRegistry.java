@@ -202,6 +202,14 @@ public interface DisplayRegistry extends RecipeManagerContext<REIClientPlugin> {
         return !isDisplayVisible(display);
     }
     
+    /**
+     * Invalidates the cached visibility of every display, the visibility of a display is only evaluated
+     * once against the visibility predicates, until the registry is reloaded, or a new predicate is registered.
+     * <p>
+     * Visibility predicates that change their results should call this to make the change effective.
+     */
+    void invalidateDisplayVisibility();
+    
     /**
      * Returns an unmodifiable list of visibility predicates.
      *
@@ -23,6 +23,7 @@
 
 package me.shedaniel.rei.api.common.entry;
 
+import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.Internals;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
@@ -73,6 +74,19 @@ public interface EntryIngredient extends List<EntryStack<?>> {
     
     ListTag save();
     
+    /**
+     * Returns the sorted and distinct {@link EntryStacks#hashFuzzy(EntryStack) fuzzy hashes} of the stacks of this ingredient,
+     * for binary search membership tests. Ingredients are immutable, implementations may compute this once and cache it.
+     * <p>
+     * The returned array must not be modified.
+     *
+     * @return the sorted fuzzy hashes of the stacks
+     */
+    @ApiStatus.Experimental
+    default long[] getFuzzyHashes() {
+        return stream().mapToLong(EntryStacks::hashFuzzy).sorted().distinct().toArray();
+    }
+    
     @SuppressWarnings("rawtypes")
     default <T> List<EntryStack<T>> cast() {
         return (List<EntryStack<T>>) (List) this;
@@ -33,8 +33,10 @@ import net.minecraft.world.item.crafting.Ingredient;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Objects;
 
 public class RecipeFinder {
     public final Int2IntMap idToAmountMap = new Int2IntOpenHashMap();
@@ -94,7 +96,7 @@ public class RecipeFinder {
     }
     
     public boolean findRecipe(NonNullList<Ingredient> ingredients, @Nullable IntList intList_1, int int_1) {
-        return (new RecipeFinder.Filter(ingredients)).find(int_1, intList_1);
+        return (new RecipeFinder.Filter(toStackingIds(ingredients))).find(int_1, intList_1);
     }
     
     public int countRecipeCrafts(NonNullList<Ingredient> ingredients, @Nullable IntList intList_1) {
@@ -102,7 +104,31 @@ public class RecipeFinder {
     }
     
     public int countRecipeCrafts(NonNullList<Ingredient> ingredients, int int_1, @Nullable IntList intList_1) {
-        return (new RecipeFinder.Filter(ingredients)).countCrafts(int_1, intList_1);
+        return this.countRecipeCraftsByStackingIds(toStackingIds(ingredients), int_1, intList_1);
+    }
+    
+    /**
+     * Counts the crafts of a recipe given by the stacking ids of its ingredients,
+     * which does not require the ingredients to be resolved into items.
+     *
+     * @param stackingIds the stacking ids of every ingredient, {@code null} for empty ingredients
+     * @param maxCrafts   the maximum amount of crafts
+     * @param itemIds     the list to fill with the item id of every slot, or {@code null}
+     * @return the amount of crafts
+     */
+    int countRecipeCraftsByStackingIds(List<IntList> stackingIds, int maxCrafts, @Nullable IntList itemIds) {
+        return (new RecipeFinder.Filter(stackingIds)).countCrafts(maxCrafts, itemIds);
+    }
+    
+    /**
+     * Returns the stacking ids of every ingredient, {@code null} for empty ingredients.
+     */
+    private static List<IntList> toStackingIds(NonNullList<Ingredient> ingredients) {
+        List<IntList> stackingIds = new ArrayList<>(ingredients.size());
+        for (Ingredient ingredient : ingredients) {
+            stackingIds.add(ingredient.isEmpty() ? null : ingredient.getStackingIds());
+        }
+        return stackingIds;
     }
     
     public void clear() {
@@ -110,34 +136,96 @@ public class RecipeFinder {
     }
     
     class Filter {
-        private final List<Ingredient> ingredients = Lists.newArrayList();
+        private final List<IntList> ingredients = Lists.newArrayList();
         private final int ingredientCount;
         private final int[] usableIngredientItemIds;
         private final int usableIngredientSize;
         private final BitSet bitSet;
         private final IntList field_7557 = new IntArrayList();
-        private final NonNullList<Ingredient> ingredientsInput;
+        private final List<IntList> ingredientsInput;
+        /**
+         * The usable item indices of each ingredient, used by {@link #canCraft(int)} across probes.
+         */
+        private final int[][] ingredientItems;
+        private final int[] itemCapacities;
+        private final int[] matchedItems;
+        private final int[] visitedItems;
+        private int visitStamp;
         
-        public Filter(NonNullList<Ingredient> ingredientsInput) {
+        public Filter(List<IntList> ingredientsInput) {
             this.ingredientsInput = ingredientsInput;
-            this.ingredients.addAll(new ArrayList<>(ingredientsInput));
-            this.ingredients.removeIf(Ingredient::isEmpty);
+            this.ingredients.addAll(ingredientsInput);
+            this.ingredients.removeIf(Objects::isNull);
             this.ingredientCount = this.ingredients.size();
             this.usableIngredientItemIds = this.getUsableIngredientItemIds();
             this.usableIngredientSize = this.usableIngredientItemIds.length;
             this.bitSet = new BitSet(this.ingredientCount + this.usableIngredientSize + this.ingredientCount + this.ingredientCount * this.usableIngredientSize);
+            this.ingredientItems = new int[this.ingredientCount][];
+            this.itemCapacities = new int[this.usableIngredientSize];
+            this.matchedItems = new int[this.ingredientCount];
+            this.visitedItems = new int[this.usableIngredientSize];
             
+            IntList items = new IntArrayList();
             for (int ingredientIndex = 0; ingredientIndex < this.ingredients.size(); ++ingredientIndex) {
-                IntList possibleStacks = this.ingredients.get(ingredientIndex).getStackingIds();
+                IntSet possibleStacks = new IntOpenHashSet(this.ingredients.get(ingredientIndex));
+                items.clear();
                 
                 // Loops over usable ingredients
                 for (int usableIngredientIndex = 0; usableIngredientIndex < this.usableIngredientSize; ++usableIngredientIndex) {
                     if (possibleStacks.contains(this.usableIngredientItemIds[usableIngredientIndex])) {
                         this.bitSet.set(this.method_7420(true, usableIngredientIndex, ingredientIndex));
+                        items.add(usableIngredientIndex);
+                    }
+                }
+                
+                this.ingredientItems[ingredientIndex] = items.toIntArray();
+            }
+        }
+        
+        /**
+         * Returns whether every ingredient can be satisfied {@code crafts} times, without modifying the finder.
+         * <p>
+         * This is a bipartite matching of ingredients to items, where an item can be matched to as many
+         * ingredients as the amount of it allows crafting {@code crafts} times, found with augmenting paths.
+         */
+        private boolean canCraft(int crafts) {
+            if (crafts <= 0) return true;
+            for (int itemIndex = 0; itemIndex < this.usableIngredientSize; ++itemIndex) {
+                this.itemCapacities[itemIndex] = RecipeFinder.this.idToAmountMap.get(this.usableIngredientItemIds[itemIndex]) / crafts;
+            }
+            Arrays.fill(this.matchedItems, -1);
+            
+            for (int ingredientIndex = 0; ingredientIndex < this.ingredientCount; ++ingredientIndex) {
+                this.visitStamp++;
+                if (!this.augment(ingredientIndex)) {
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+        private boolean augment(int ingredientIndex) {
+            for (int itemIndex : this.ingredientItems[ingredientIndex]) {
+                if (this.visitedItems[itemIndex] == this.visitStamp) continue;
+                this.visitedItems[itemIndex] = this.visitStamp;
+                
+                if (this.itemCapacities[itemIndex] > 0) {
+                    this.itemCapacities[itemIndex]--;
+                    this.matchedItems[ingredientIndex] = itemIndex;
+                    return true;
+                }
+                
+                // the item is used up, try to move one of the ingredients using it to another item
+                for (int otherIndex = 0; otherIndex < this.ingredientCount; ++otherIndex) {
+                    if (this.matchedItems[otherIndex] == itemIndex && this.augment(otherIndex)) {
+                        this.matchedItems[ingredientIndex] = itemIndex;
+                        return true;
                     }
                 }
             }
             
+            return false;
         }
         
         @SuppressWarnings("deprecation")
@@ -167,10 +255,10 @@ public class RecipeFinder {
                 
                 this.bitSet.clear(0, this.ingredientCount + this.usableIngredientSize + this.ingredientCount);
                 int int_5 = 0;
-                List<Ingredient> list_1 = new ArrayList<>(ingredientsInput);
+                List<IntList> list_1 = new ArrayList<>(ingredientsInput);
                 
-                for (Ingredient ingredient : list_1) {
-                    if (boolean_2 && ingredient.isEmpty()) {
+                for (IntList ingredient : list_1) {
+                    if (boolean_2 && ingredient == null) {
                         intList_1.add(0);
                     } else {
                         for (int int_7 = 0; int_7 < this.usableIngredientSize; ++int_7) {
@@ -194,8 +282,8 @@ public class RecipeFinder {
         private int[] getUsableIngredientItemIds() {
             IntCollection intCollection_1 = new IntAVLTreeSet();
             
-            for (Ingredient ingredient_1 : this.ingredients) {
-                intCollection_1.addAll(ingredient_1.getStackingIds());
+            for (IntList ingredient_1 : this.ingredients) {
+                intCollection_1.addAll(ingredient_1);
             }
             
             IntIterator intIterator_1 = intCollection_1.iterator();
@@ -298,7 +386,7 @@ public class RecipeFinder {
             while (true) {
                 while (true) {
                     int int_4 = (int_2 + int_3) / 2;
-                    if (this.find(int_4, null)) {
+                    if (this.canCraft(int_4)) {
                         if (int_3 - int_2 <= 1) {
                             if (int_4 > 0) {
                                 this.find(int_4, intList_1);
@@ -319,11 +407,11 @@ public class RecipeFinder {
         private int method_7415() {
             int int_1 = Integer.MAX_VALUE;
             
-            for (Ingredient ingredient_1 : this.ingredients) {
+            for (IntList ingredient_1 : this.ingredients) {
                 int int_2 = 0;
                 
                 int int_3;
-                for (IntListIterator var5 = ingredient_1.getStackingIds().iterator(); var5.hasNext(); int_2 = Math.max(int_2, RecipeFinder.this.idToAmountMap.get(int_3))) {
+                for (IntListIterator var5 = ingredient_1.iterator(); var5.hasNext(); int_2 = Math.max(int_2, RecipeFinder.this.idToAmountMap.get(int_3))) {
                     int_3 = var5.next();
                 }
                 
@@ -29,6 +29,7 @@ import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
+import me.shedaniel.rei.api.common.entry.type.EntryTypeRegistry;
 import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
@@ -38,6 +39,7 @@ import net.minecraft.world.level.ItemLike;
 import net.minecraft.world.level.material.Fluid;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -134,6 +136,28 @@ public final class EntryIngredients {
     }
     
     public static <T> boolean testFuzzy(EntryIngredient ingredient, EntryStack<T> stack) {
+        if (ingredient.isEmpty()) return false;
+        if (ingredient.size() == 1) return EntryStacks.equalsFuzzy(ingredient.get(0), stack);
+        return testFuzzy(ingredient, stack, EntryStacks.hashFuzzy(stack));
+    }
+    
+    /**
+     * Tests whether the ingredient contains a stack fuzzily equal to the given stack,
+     * the precomputed {@link EntryIngredient#getFuzzyHashes() fuzzy hashes} of the ingredient
+     * rule out most ingredients without comparing any stacks, unless the ingredient contains stacks
+     * of a type bridged with the type of the given stack, as bridged stacks don't share hashes.
+     *
+     * @param ingredient the ingredient to test
+     * @param stack      the stack to test
+     * @param hashFuzzy  the {@link EntryStacks#hashFuzzy(EntryStack) fuzzy hash} of the stack
+     * @param <T>        the type of the stack
+     * @return whether the ingredient contains the stack
+     */
+    public static <T> boolean testFuzzy(EntryIngredient ingredient, EntryStack<T> stack, long hashFuzzy) {
+        if (ingredient.isEmpty()) return false;
+        if (Arrays.binarySearch(ingredient.getFuzzyHashes(), hashFuzzy) < 0 && !isBridged(ingredient, stack.getType())) {
+            return false;
+        }
         for (EntryStack<?> ingredientStack : ingredient) {
             if (EntryStacks.equalsFuzzy(ingredientStack, stack)) {
                 return true;
@@ -143,6 +167,22 @@ public final class EntryIngredients {
         return false;
     }
     
+    private static boolean isBridged(EntryIngredient ingredient, EntryType<?> type) {
+        EntryTypeRegistry registry = EntryTypeRegistry.getInstance();
+        EntryType<?> checkedType = type;
+        for (EntryStack<?> ingredientStack : ingredient) {
+            EntryType<?> ingredientType = ingredientStack.getType();
+            if (ingredientType == type || ingredientType == checkedType) continue;
+            checkedType = ingredientType;
+            if (registry.getBridgesFor(ingredientType, type).iterator().hasNext()
+                || registry.getBridgesFor(type, ingredientType).iterator().hasNext()) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
     public static ListTag save(List<EntryIngredient> ingredients) {
         ListTag listTag = new ListTag();
         for (EntryIngredient ingredient : ingredients) {
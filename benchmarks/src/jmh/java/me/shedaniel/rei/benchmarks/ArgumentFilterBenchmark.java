@@ -0,0 +1,86 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.CompiledArgumentFilter;
+import me.shedaniel.rei.impl.client.search.argument.CompoundArgument;
+import me.shedaniel.rei.impl.client.search.argument.LegacyArgumentFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares testing the registry against baked arguments in declaration order with the cost-ordered
+ * {@link CompiledArgumentFilter}, on terms with several alternatives and compounds.
+ * <p>
+ * The search cache is filled during setup, so both filters measure the evaluation and not the first lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArgumentFilterBenchmark {
+    @Param({"*entry_1", "r/mock_entry_4.*/ *entry_4", "r/.*_9/|*entry_1 -*entry_12|*_7 *entry"})
+    public String searchTerm;
+    @Param({"50000"})
+    public int size;
+    private List<EntryStack<?>> stacks;
+    private List<CompoundArgument> arguments;
+    private CompiledArgumentFilter filter;
+    
+    @Setup
+    public void setup() {
+        MockEntries.attachSearchInternals();
+        stacks = MockEntries.createStacks(size, 0);
+        arguments = Argument.bakeArguments(searchTerm);
+        filter = CompiledArgumentFilter.compile(arguments);
+        for (EntryStack<?> stack : stacks) {
+            filter.test(stack);
+        }
+    }
+    
+    @Benchmark
+    public int legacyFilter() {
+        int matched = 0;
+        for (EntryStack<?> stack : stacks) {
+            if (LegacyArgumentFilter.matches(stack, arguments)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+    
+    @Benchmark
+    public int compiledFilter() {
+        int matched = 0;
+        for (EntryStack<?> stack : stacks) {
+            if (filter.test(stack)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
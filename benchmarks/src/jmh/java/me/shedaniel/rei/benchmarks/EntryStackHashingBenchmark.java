@@ -0,0 +1,68 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntryStackHashingBenchmark {
+    @Param({"1000", "50000"})
+    public int size;
+    private List<EntryStack<?>> stacks;
+    
+    @Setup
+    public void setup() {
+        stacks = MockEntries.createStacks(size, 0);
+    }
+    
+    @Benchmark
+    public void hashExact(Blackhole blackhole) {
+        for (EntryStack<?> stack : stacks) {
+            blackhole.consume(EntryStacks.hashExact(stack));
+        }
+    }
+    
+    @Benchmark
+    public void hashFuzzy(Blackhole blackhole) {
+        for (EntryStack<?> stack : stacks) {
+            blackhole.consume(EntryStacks.hashFuzzy(stack));
+        }
+    }
+    
+    @Benchmark
+    public void wrap(Blackhole blackhole) {
+        for (EntryStack<?> stack : stacks) {
+            blackhole.consume(new HashedEntryStackWrapper(stack));
+        }
+    }
+}
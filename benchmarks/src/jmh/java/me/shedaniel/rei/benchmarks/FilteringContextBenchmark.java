@@ -0,0 +1,76 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextImpl;
+import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextType;
+import me.shedaniel.rei.impl.client.entry.filtering.FilteringResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a hiding and a showing rule result to a filtering context, as a refilter does for every rule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FilteringContextBenchmark {
+    @Param({"1000", "50000"})
+    public int size;
+    @Param({"false", "true"})
+    public boolean async;
+    private List<EntryStack<?>> stacks;
+    private FilteringResult hideResult;
+    private FilteringResult showResult;
+    
+    @Setup
+    public void setup() {
+        stacks = MockEntries.createStacks(size, 0);
+        List<EntryStack<?>> hidden = new ArrayList<>();
+        List<EntryStack<?>> shown = new ArrayList<>();
+        for (int i = 0; i < stacks.size(); i++) {
+            if (i % 4 == 0) hidden.add(stacks.get(i));
+            if (i % 8 == 0) shown.add(stacks.get(i));
+        }
+        hideResult = FilteringResult.create(hidden, List.of());
+        showResult = FilteringResult.create(List.of(), shown);
+    }
+    
+    @Benchmark
+    public int createContext() {
+        return new FilteringContextImpl(async, stacks).getStacks(FilteringContextType.DEFAULT).size();
+    }
+    
+    @Benchmark
+    public int handleResults() {
+        FilteringContextImpl context = new FilteringContextImpl(async, stacks);
+        context.handleResult(hideResult);
+        context.handleResult(showResult);
+        return context.getStacks(FilteringContextType.HIDDEN).size();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.client.config.ConfigManager;
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
+import me.shedaniel.rei.api.client.gui.config.SearchMode;
+import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
+import me.shedaniel.rei.api.common.entry.EntrySerializer;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.comparison.ComparisonContext;
+import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
+import me.shedaniel.rei.api.common.entry.type.EntryType;
+import me.shedaniel.rei.impl.ClientInternals;
+import me.shedaniel.rei.impl.Internals;
+import me.shedaniel.rei.impl.client.config.ConfigObjectImpl;
+import me.shedaniel.rei.impl.common.entry.DeferringEntryTypeProviderImpl;
+import me.shedaniel.rei.impl.common.entry.EntryIngredientImpl;
+import me.shedaniel.rei.impl.common.entry.EntryStackProviderImpl;
+import me.shedaniel.rei.impl.common.entry.type.types.EmptyEntryDefinition;
+import me.shedaniel.rei.impl.common.plugins.PluginManagerImpl;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagContainer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * A lightweight entry type for benchmarks, which does not need Minecraft or REI to be bootstrapped.
+ * <p>
+ * Only the internals needed to create entry stacks and ingredients, and to bake search arguments, are attached.
+ */
+public final class MockEntries {
+    private static final ResourceLocation ID = new ResourceLocation("rei_benchmarks", "mock");
+    public static final EntryType<MockEntry> TYPE = new EntryType<>() {
+        @Override
+        public ResourceLocation getId() {
+            return ID;
+        }
+        
+        @Override
+        public EntryDefinition<MockEntry> getDefinition() {
+            return MockEntryDefinition.INSTANCE;
+        }
+    };
+    private static boolean attached = false;
+    private static boolean searchAttached = false;
+    
+    private MockEntries() {}
+    
+    public static synchronized void attachInternals() {
+        if (attached) return;
+        attached = true;
+        Internals.attachInstance((Function<ResourceLocation, EntryType<?>>) DeferringEntryTypeProviderImpl.INSTANCE, "entryTypeDeferred");
+        Internals.attachInstance(EntryStackProviderImpl.INSTANCE, Internals.EntryStackProvider.class);
+        Internals.attachInstance(EntryIngredientImpl.INSTANCE, Internals.EntryIngredientProvider.class);
+        EmptyEntryDefinition.EmptyRenderer emptyEntryRenderer = new EmptyEntryDefinition.EmptyRenderer();
+        ClientInternals.attachInstance((Supplier<EntryRenderer<?>>) () -> emptyEntryRenderer, "emptyEntryRenderer");
+    }
+    
+    /**
+     * Attaches a client plugin manager holding only a default config, which is what baking search arguments reads.
+     */
+    public static synchronized void attachSearchInternals() {
+        attachInternals();
+        if (searchAttached) return;
+        searchAttached = true;
+        PluginManagerImpl<REIClientPlugin> pluginManager = new PluginManagerImpl<>(REIClientPlugin.class, UnaryOperator.identity(), usedTime -> {},
+                new MockConfigManager());
+        ClientInternals.attachInstance((Supplier<Object>) () -> pluginManager, "clientPluginManager");
+    }
+    
+    /**
+     * Creates a synthetic registry of stacks, a tenth of them carrying data that only affects the exact hash.
+     */
+    public static List<EntryStack<?>> createStacks(int size, long seed) {
+        attachInternals();
+        Random random = new Random(seed);
+        List<EntryStack<?>> stacks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String data = random.nextInt(10) == 0 ? "data_" + random.nextInt(64) : null;
+            stacks.add(EntryStack.of(MockEntryDefinition.INSTANCE, new MockEntry(i, "mock_entry_" + i, data)));
+        }
+        return stacks;
+    }
+    
+    public record MockEntry(int id, String name, @Nullable String data) {}
+    
+    private enum MockEntryDefinition implements EntryDefinition<MockEntry> {
+        INSTANCE;
+        
+        @Override
+        public Class<MockEntry> getValueType() {
+            return MockEntry.class;
+        }
+        
+        @Override
+        public EntryType<MockEntry> getType() {
+            return TYPE;
+        }
+        
+        @Override
+        public EntryRenderer<MockEntry> getRenderer() {
+            return EntryRenderer.empty();
+        }
+        
+        @Override
+        public ResourceLocation getIdentifier(EntryStack<MockEntry> entry, MockEntry value) {
+            return new ResourceLocation(ID.getNamespace(), value.name());
+        }
+        
+        @Override
+        public boolean isEmpty(EntryStack<MockEntry> entry, MockEntry value) {
+            return false;
+        }
+        
+        @Override
+        public MockEntry copy(EntryStack<MockEntry> entry, MockEntry value) {
+            return value;
+        }
+        
+        @Override
+        public MockEntry normalize(EntryStack<MockEntry> entry, MockEntry value) {
+            return value.data() == null ? value : new MockEntry(value.id(), value.name(), null);
+        }
+        
+        @Override
+        public long hash(EntryStack<MockEntry> entry, MockEntry value, ComparisonContext context) {
+            long hash = 31L * value.id() + value.name().hashCode();
+            if (context.isExact()) {
+                hash = 31L * hash + Objects.hashCode(value.data());
+            }
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(MockEntry o1, MockEntry o2, ComparisonContext context) {
+            if (o1.id() != o2.id()) return false;
+            return !context.isExact() || Objects.equals(o1.data(), o2.data());
+        }
+        
+        @Override
+        @Nullable
+        public EntrySerializer<MockEntry> getSerializer() {
+            return null;
+        }
+        
+        @Override
+        public Component asFormattedText(EntryStack<MockEntry> entry, MockEntry value) {
+            return new TextComponent(value.name());
+        }
+        
+        @Override
+        public Collection<ResourceLocation> getTagsFor(TagContainer tagContainer, EntryStack<MockEntry> entry, MockEntry value) {
+            return Collections.emptyList();
+        }
+    }
+    
+    private static class MockConfigManager implements ConfigManager {
+        private final ConfigObjectImpl config = new ConfigObjectImpl() {
+            @Override
+            public SearchMode getTooltipSearchMode() {
+                // tooltips need a running client
+                return SearchMode.NEVER;
+            }
+        };
+        
+        @Override
+        public void startReload() {}
+        
+        @Override
+        public void saveConfig() {}
+        
+        @Override
+        public boolean isCraftableOnlyEnabled() {
+            return false;
+        }
+        
+        @Override
+        public void toggleCraftableOnly() {}
+        
+        @Override
+        public Screen getConfigScreen(Screen parent) {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public ConfigObject getConfig() {
+            return config;
+        }
+    }
+}
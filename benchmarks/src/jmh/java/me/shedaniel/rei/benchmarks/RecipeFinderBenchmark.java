@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import me.shedaniel.rei.api.common.transfer.RecipeFinder;
+import me.shedaniel.rei.api.common.transfer.RecipeFinderAccess;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the crafts of a recipe with interchangeable ingredients, which is what the craftable filter
+ * and the auto-crafting button do for every visible display.
+ * <p>
+ * Ingredients are given as synthetic stacking ids, therefore no Minecraft runtime is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeFinderBenchmark {
+    private static final int[] PLANKS = {1, 2, 3, 4};
+    private static final int[] LOGS = {5, 6, 7, 8};
+    
+    @Param({"1", "64", "2304"})
+    public int amount;
+    private RecipeFinder finder;
+    private List<IntList> ingredients;
+    
+    @Setup
+    public void setup() {
+        IntList planks = IntArrayList.wrap(PLANKS);
+        IntList logs = IntArrayList.wrap(LOGS);
+        ingredients = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ingredients.add(planks);
+        }
+        for (int i = 0; i < 3; i++) {
+            ingredients.add(logs);
+        }
+        finder = new RecipeFinder();
+        finder.idToAmountMap.put(PLANKS[0], amount * 3);
+        finder.idToAmountMap.put(PLANKS[2], amount * 2);
+        finder.idToAmountMap.put(PLANKS[3], amount);
+        finder.idToAmountMap.put(LOGS[1], amount * 2);
+        finder.idToAmountMap.put(LOGS[3], amount);
+    }
+    
+    @Benchmark
+    public int countRecipeCrafts() {
+        return RecipeFinderAccess.countRecipeCrafts(finder, ingredients, Integer.MAX_VALUE);
+    }
+    
+    @Benchmark
+    public int countSingleCraft() {
+        return RecipeFinderAccess.countRecipeCrafts(finder, ingredients, 1);
+    }
+}
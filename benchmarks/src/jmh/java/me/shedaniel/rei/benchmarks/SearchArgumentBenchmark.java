@@ -0,0 +1,78 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.benchmarks;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.CompiledArgumentFilter;
+import me.shedaniel.rei.impl.client.search.argument.CompoundArgument;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bakes a search term into arguments and matches the registry against it, as every search does.
+ * <p>
+ * The search cache is cleared before every iteration, matching therefore includes filling it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchArgumentBenchmark {
+    @Param({"mock_entry_1", "*entry_1 -*entry_12", "*entry_1|r/mock_entry_4.*/|*entry_7 *_2"})
+    public String searchTerm;
+    @Param({"1000", "50000"})
+    public int size;
+    private List<EntryStack<?>> stacks;
+    private CompiledArgumentFilter filter;
+    
+    @Setup
+    public void setup() {
+        MockEntries.attachSearchInternals();
+        stacks = MockEntries.createStacks(size, 0);
+        filter = CompiledArgumentFilter.compile(Argument.bakeArguments(searchTerm));
+    }
+    
+    @Setup(Level.Iteration)
+    public void clearCache() {
+        Argument.SEARCH_CACHE.clear();
+    }
+    
+    @Benchmark
+    public List<CompoundArgument> bakeArguments() {
+        return Argument.bakeArguments(searchTerm);
+    }
+    
+    @Benchmark
+    public int matchStacks() {
+        int matched = 0;
+        for (EntryStack<?> stack : stacks) {
+            if (filter.test(stack)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.argument;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+
+import java.util.List;
+
+/**
+ * The evaluation of baked arguments before {@link CompiledArgumentFilter}, kept for benchmarks only:
+ * arguments are tested in declaration order, and every alternative hashes the stack again.
+ * <p>
+ * This lives in the package of {@link Argument} to reach its package-private matching.
+ */
+public final class LegacyArgumentFilter {
+    private LegacyArgumentFilter() {}
+    
+    public static boolean matches(EntryStack<?> stack, List<CompoundArgument> compoundArguments) {
+        if (compoundArguments.isEmpty()) return true;
+        Argument.TestState state = new Argument.TestState();
+        
+        a:
+        for (CompoundArgument arguments : compoundArguments) {
+            for (AlternativeArgument argument : arguments) {
+                if (!matches(stack, argument, state)) {
+                    continue a;
+                }
+            }
+            
+            return true;
+        }
+        
+        return false;
+    }
+    
+    private static boolean matches(EntryStack<?> stack, AlternativeArgument alternativeArgument, Argument.TestState state) {
+        if (alternativeArgument.isEmpty()) return true;
+        long hashExact = EntryStacks.hashExact(stack);
+        
+        for (Argument<?, ?> argument : alternativeArgument) {
+            if (argument.matches(stack, hashExact, state)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
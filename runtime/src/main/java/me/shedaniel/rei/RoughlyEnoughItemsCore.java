@@ -58,6 +58,7 @@ import me.shedaniel.rei.impl.common.logging.MultiLogger;
 import me.shedaniel.rei.impl.common.logging.performance.PerformanceLogger;
 import me.shedaniel.rei.impl.common.logging.performance.PerformanceLoggerImpl;
 import me.shedaniel.rei.impl.common.plugins.PluginManagerImpl;
+import me.shedaniel.rei.impl.common.plugins.ReloadToken;
 import me.shedaniel.rei.impl.common.registry.RecipeManagerContextImpl;
 import me.shedaniel.rei.impl.common.transfer.MenuInfoRegistryImpl;
 import net.minecraft.resources.ResourceLocation;
@@ -67,6 +68,7 @@ import org.apache.commons.lang3.mutable.MutableLong;
 import org.apache.logging.log4j.LogManager;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.concurrent.CancellationException;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
@@ -124,6 +126,11 @@ public class RoughlyEnoughItemsCore {
                 new MenuInfoRegistryImpl()), "serverPluginManager");
     }
     
+    /**
+     * Reloads every active plugin manager for the stage, or for every stage if {@code null}.
+     *
+     * @throws CancellationException if the {@link ReloadToken} of the reload is cancelled
+     */
     public static void _reloadPlugins(@Nullable ReloadStage stage) {
         if (stage == null) {
             for (ReloadStage reloadStage : ReloadStage.values()) {
@@ -141,6 +148,8 @@ public class RoughlyEnoughItemsCore {
             for (PluginManager<? extends REIPlugin<?>> instance : PluginManager.getActiveInstances()) {
                 instance.view().post(stage);
             }
+        } catch (CancellationException cancellation) {
+            throw cancellation;
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         }
@@ -33,12 +33,14 @@ import dev.architectury.event.events.client.ClientRecipeUpdateEvent;
 import dev.architectury.event.events.client.ClientScreenInputEvent;
 import dev.architectury.networking.NetworkManager;
 import dev.architectury.platform.Platform;
+import dev.architectury.registry.ReloadListenerRegistry;
 import me.shedaniel.math.Point;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntryType;
+import me.shedaniel.rei.api.client.gui.animator.AnimatorScheduler;
 import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
 import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
@@ -50,16 +52,21 @@ import me.shedaniel.rei.api.client.registry.screen.ClickArea;
 import me.shedaniel.rei.api.client.registry.screen.OverlayDecider;
 import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
+import me.shedaniel.rei.api.common.plugins.PluginManager;
 import me.shedaniel.rei.api.common.plugins.PluginView;
 import me.shedaniel.rei.api.common.registry.ReloadStage;
+import me.shedaniel.rei.api.common.registry.Reloadable;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.ClientInternals;
 import me.shedaniel.rei.impl.client.REIRuntimeImpl;
+import me.shedaniel.rei.impl.client.ReloadScope;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import me.shedaniel.rei.impl.client.entry.renderer.EntryRendererRegistryImpl;
 import me.shedaniel.rei.impl.client.favorites.DelegatingFavoriteEntryProviderImpl;
 import me.shedaniel.rei.impl.client.favorites.FavoriteEntryTypeRegistryImpl;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
+import me.shedaniel.rei.impl.client.gui.widget.BatchedEntryRendererManager;
 import me.shedaniel.rei.impl.client.gui.widget.InternalWidgets;
 import me.shedaniel.rei.impl.client.gui.widget.QueuedTooltip;
 import me.shedaniel.rei.impl.client.registry.category.CategoryRegistryImpl;
@@ -72,6 +79,7 @@ import me.shedaniel.rei.impl.client.view.ViewsImpl;
 import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
 import me.shedaniel.rei.impl.common.entry.type.types.EmptyEntryDefinition;
 import me.shedaniel.rei.impl.common.plugins.PluginManagerImpl;
+import me.shedaniel.rei.impl.common.plugins.ReloadToken;
 import me.shedaniel.rei.impl.common.util.IssuesDetector;
 import me.shedaniel.rei.plugin.test.REITestPlugin;
 import net.fabricmc.api.EnvType;
@@ -89,19 +97,22 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.inventory.CraftingMenu;
 import net.minecraft.world.inventory.Slot;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.item.crafting.Ingredient;
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -124,6 +135,16 @@ public class RoughlyEnoughItemsCoreClient {
         });
         return thread;
     });
+    private static final Object RELOAD_LOCK = new Object();
+    private static final EnumSet<ReloadStage> pendingStages = EnumSet.noneOf(ReloadStage.class);
+    private static EnumSet<ReloadStage> runningStages = EnumSet.noneOf(ReloadStage.class);
+    private static final EnumSet<ReloadScope> pendingScopes = EnumSet.noneOf(ReloadScope.class);
+    private static EnumSet<ReloadScope> runningScopes = EnumSet.noneOf(ReloadScope.class);
+    @Nullable
+    private static ReloadToken runningReload;
+    @Nullable
+    private static ReloadStage runningStage;
+    private static boolean reloadQueued;
     
     public static void attachClientInternals() {
         InternalWidgets.attach();
@@ -272,15 +293,16 @@ public class RoughlyEnoughItemsCoreClient {
     private void registerEvents() {
         Minecraft client = Minecraft.getInstance();
         final ResourceLocation recipeButtonTex = new ResourceLocation("textures/gui/recipe_button.png");
-        MutableLong startReload = new MutableLong(-1);
-        MutableLong endReload = new MutableLong(-1);
         PRE_UPDATE_RECIPES.register(recipeManager -> {
             RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.clear();
-            reloadPlugins(startReload, ReloadStage.START);
+            reloadPlugins(ReloadStage.START);
         });
         ClientRecipeUpdateEvent.EVENT.register(recipeManager -> {
             if (!Platform.isFabric()) RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.clear();
-            reloadPlugins(endReload, Platform.isFabric() ? ReloadStage.END : null);
+            reloadPlugins(Platform.isFabric() ? ReloadStage.END : null);
+        });
+        ReloadListenerRegistry.register(PackType.CLIENT_RESOURCES, (ResourceManagerReloadListener) resourceManager -> {
+            BatchedEntryRendererManager.invalidateExtraData();
         });
         ClientGuiEvent.INIT_POST.register((screen, access) -> {
             REIRuntime.getInstance().getOverlay(false, true);
@@ -334,13 +356,20 @@ public class RoughlyEnoughItemsCoreClient {
                 return EventResult.interruptFalse();
             return EventResult.pass();
         });
+        ClientGuiEvent.RENDER_PRE.register((screen, matrices, mouseX, mouseY, delta) -> {
+            AnimatorScheduler.beginFrame();
+            return EventResult.pass();
+        });
         ClientGuiEvent.RENDER_POST.register((screen, matrices, mouseX, mouseY, delta) -> {
-            if (shouldReturn(screen))
+            if (shouldReturn(screen)) {
+                AnimatorScheduler.endFrame();
                 return;
+            }
             resetFocused(screen);
             getOverlay().render(matrices, mouseX, mouseY, delta);
             ((ScreenOverlayImpl) getOverlay()).lateRender(matrices, mouseX, mouseY, delta);
             resetFocused(screen);
+            AnimatorScheduler.endFrame();
         });
         ClientScreenInputEvent.MOUSE_DRAGGED_PRE.register((minecraftClient, screen, mouseX1, mouseY1, button, mouseX2, mouseY2) -> {
             if (shouldReturn(screen))
@@ -377,19 +406,144 @@ public class RoughlyEnoughItemsCoreClient {
         return true;
     }
     
+    /**
+     * Reloads the plugins for the stage, or for every stage if {@code null}.
+     * <p>
+     * Requests are coalesced: a request arriving before the queued reload starts is merged into it,
+     * and a request for a stage that the running reload has already started cancels the running reload,
+     * which is then restarted with the remaining stages of both.
+     */
     @ApiStatus.Internal
-    public static void reloadPlugins(MutableLong lastReload, @Nullable ReloadStage start) {
-        if (lastReload != null) {
-            if (lastReload.getValue() > 0 && System.currentTimeMillis() - lastReload.getValue() <= 5000) {
-                RoughlyEnoughItemsCore.LOGGER.warn("Suppressing Reload Plugins of stage " + start);
-                return;
+    public static void reloadPlugins(@Nullable ReloadStage start) {
+        if (!ConfigObject.getInstance().doesRegisterRecipesInAnotherThread()) {
+            RoughlyEnoughItemsCore._reloadPlugins(start);
+            return;
+        }
+        synchronized (RELOAD_LOCK) {
+            EnumSet<ReloadStage> requested = start == null ? EnumSet.allOf(ReloadStage.class) : EnumSet.of(start);
+            if (runningReload != null && runningStage != null && requested.iterator().next().compareTo(runningStage) <= 0) {
+                RoughlyEnoughItemsCore.LOGGER.info("Cancelling reload of stages %s at stage %s, superseded by a reload of stages %s", runningStages, runningStage, requested);
+                cancelRunningReload();
             }
-            lastReload.setValue(System.currentTimeMillis());
+            pendingStages.addAll(requested);
+            queuePendingReload();
         }
-        if (ConfigObject.getInstance().doesRegisterRecipesInAnotherThread()) {
-            CompletableFuture.runAsync(() -> RoughlyEnoughItemsCore._reloadPlugins(start), RELOAD_PLUGINS);
+    }
+    
+    /**
+     * Reloads only what is affected by the scope, a {@link ReloadScope#FULL} scope reloads every plugin.
+     * <p>
+     * Partial reloads are queued with the stage reloads, and are dropped if every stage is reloaded anyway.
+     * A request for a scope that the running reload is reloading cancels the running reload.
+     */
+    @ApiStatus.Internal
+    public static void reloadPlugins(ReloadScope scope) {
+        if (scope == ReloadScope.FULL) {
+            reloadPlugins((ReloadStage) null);
+        } else if (scope == ReloadScope.REFILTER) {
+            scope.invalidateDependents();
+        } else if (!ConfigObject.getInstance().doesRegisterRecipesInAnotherThread()) {
+            _reloadScopes(EnumSet.of(scope));
+            scope.invalidateDependents();
         } else {
-            RoughlyEnoughItemsCore._reloadPlugins(start);
+            synchronized (RELOAD_LOCK) {
+                if (pendingStages.size() == ReloadStage.values().length) return;
+                if (runningReload != null && runningScopes.contains(scope)) {
+                    RoughlyEnoughItemsCore.LOGGER.info("Cancelling reload of scopes %s, superseded by a reload of scope %s", runningScopes, scope);
+                    cancelRunningReload();
+                }
+                pendingScopes.add(scope);
+                queuePendingReload();
+            }
+        }
+    }
+    
+    private static void cancelRunningReload() {
+        runningReload.cancel();
+        if (runningStage != null) {
+            for (ReloadStage stage : runningStages) {
+                if (stage.compareTo(runningStage) >= 0) {
+                    pendingStages.add(stage);
+                }
+            }
+        }
+        pendingScopes.addAll(runningScopes);
+    }
+    
+    private static void queuePendingReload() {
+        if (!reloadQueued) {
+            reloadQueued = true;
+            CompletableFuture.runAsync(RoughlyEnoughItemsCoreClient::runPendingReload, RELOAD_PLUGINS);
+        }
+    }
+    
+    private static void runPendingReload() {
+        ReloadToken token = new ReloadToken();
+        EnumSet<ReloadStage> stages;
+        EnumSet<ReloadScope> scopes;
+        synchronized (RELOAD_LOCK) {
+            reloadQueued = false;
+            if (pendingStages.isEmpty() && pendingScopes.isEmpty()) return;
+            stages = EnumSet.copyOf(pendingStages);
+            scopes = stages.size() == ReloadStage.values().length ? EnumSet.noneOf(ReloadScope.class) : EnumSet.copyOf(pendingScopes);
+            pendingStages.clear();
+            pendingScopes.clear();
+            runningReload = token;
+            runningStages = stages;
+            runningScopes = scopes;
+        }
+        try {
+            token.run(() -> {
+                for (ReloadStage stage : stages) {
+                    synchronized (RELOAD_LOCK) {
+                        runningStage = stage;
+                    }
+                    RoughlyEnoughItemsCore._reloadPlugins(stage);
+                }
+                if (!scopes.isEmpty()) {
+                    synchronized (RELOAD_LOCK) {
+                        runningStage = null;
+                    }
+                    _reloadScopes(scopes);
+                }
+            });
+            if (!scopes.isEmpty()) {
+                Minecraft.getInstance().execute(() -> {
+                    for (ReloadScope scope : scopes) {
+                        scope.invalidateDependents();
+                    }
+                });
+            }
+        } catch (CancellationException cancellation) {
+            RoughlyEnoughItemsCore.LOGGER.info("Cancelled reload of stages %s and scopes %s", stages, scopes);
+        } finally {
+            synchronized (RELOAD_LOCK) {
+                runningReload = null;
+                runningStage = null;
+                runningStages = EnumSet.noneOf(ReloadStage.class);
+                runningScopes = EnumSet.noneOf(ReloadScope.class);
+            }
+        }
+    }
+    
+    /**
+     * Reloads the client reloadables contained in any of the scopes, running the plugin hooks of every stage around them.
+     */
+    private static void _reloadScopes(EnumSet<ReloadScope> scopes) {
+        try {
+            PluginManagerImpl<REIClientPlugin> manager = (PluginManagerImpl<REIClientPlugin>) PluginManager.getClientInstance();
+            List<Reloadable<REIClientPlugin>> targets = CollectionUtils.filterToList(manager.getReloadables(),
+                    reloadable -> CollectionUtils.anyMatch(scopes, scope -> scope.contains(reloadable)));
+            RoughlyEnoughItemsCore.LOGGER.info("Reloading scopes %s with %d reloadables", scopes, targets.size());
+            for (ReloadStage stage : ReloadStage.values()) {
+                manager.view().pre(stage);
+                manager.reload(stage, targets);
+                manager.view().post(stage);
+            }
+        } catch (CancellationException cancellation) {
+            throw cancellation;
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
         }
     }
 }
@@ -27,8 +27,6 @@ import com.google.common.base.Suppliers;
 import dev.architectury.networking.NetworkManager;
 import dev.architectury.platform.Platform;
 import io.netty.buffer.Unpooled;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.longs.LongSet;
 import me.shedaniel.rei.RoughlyEnoughItemsNetwork;
 import me.shedaniel.rei.api.client.ClientHelper;
 import me.shedaniel.rei.api.client.REIRuntime;
@@ -46,6 +44,7 @@ import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.api.common.util.FormattingUtils;
 import me.shedaniel.rei.impl.ClientInternals;
+import me.shedaniel.rei.impl.client.gui.screen.AbstractDisplayViewingScreen;
 import me.shedaniel.rei.impl.client.gui.screen.CompositeDisplayViewingScreen;
 import me.shedaniel.rei.impl.client.gui.screen.DefaultDisplayViewingScreen;
 import me.shedaniel.rei.impl.client.gui.screen.UncertainDisplayViewingScreen;
@@ -222,20 +221,6 @@ public class ClientHelperImpl implements ClientHelper {
         }
     }
     
-    @ApiStatus.Internal
-    public LongSet _getInventoryItemsTypes() {
-        try {
-            VanillaEntryTypes.ITEM.getDefinition();
-        } catch (NullPointerException e) {
-            return new LongOpenHashSet();
-        }
-        return Minecraft.getInstance().player.getInventory().compartments.stream()
-                .flatMap(Collection::stream)
-                .map(EntryStacks::of)
-                .mapToLong(EntryStacks::hashFuzzy)
-                .collect(LongOpenHashSet::new, LongOpenHashSet::add, LongOpenHashSet::addAll);
-    }
-    
     @ApiStatus.Internal
     public void openRecipeViewingScreen(Map<DisplayCategory<?>, List<DisplaySpec>> map, @Nullable CategoryIdentifier<?> category, List<EntryStack<?>> ingredientNotice, List<EntryStack<?>> resultNotice) {
         LegacyWrapperViewSearchBuilder builder = new LegacyWrapperViewSearchBuilder(map);
@@ -275,6 +260,9 @@ public class ClientHelperImpl implements ClientHelper {
         if (Minecraft.getInstance().screen instanceof DisplayScreen displayScreen) {
             REIRuntimeImpl.getInstance().storeDisplayScreen(displayScreen);
         }
+        if (Minecraft.getInstance().screen instanceof AbstractDisplayViewingScreen previous && screen instanceof AbstractDisplayViewingScreen next) {
+            next.inheritDisplayWidgets(previous);
+        }
         Minecraft.getInstance().setScreen(screen);
         return true;
     }
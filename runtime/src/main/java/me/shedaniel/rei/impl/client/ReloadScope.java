@@ -0,0 +1,101 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package me.shedaniel.rei.impl.client;
+
+import me.shedaniel.rei.api.client.REIRuntime;
+import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
+import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
+import me.shedaniel.rei.api.client.registry.screen.ScreenRegistry;
+import me.shedaniel.rei.api.common.registry.Reloadable;
+import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
+import me.shedaniel.rei.impl.client.view.ViewsImpl;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The part of REI affected by a change, so that only the affected client {@link Reloadable}s have to be reloaded.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public enum ReloadScope {
+    /**
+     * Reapplies the filtering rules, no plugin is run and the overlay is kept open.
+     */
+    REFILTER(() -> EntryRegistry.getInstance().refilter(), false),
+    /**
+     * Registers the displays again, the cached recipe views are invalidated.
+     */
+    DISPLAYS(ViewsImpl::invalidateCache, true, DisplayRegistry.class),
+    /**
+     * Registers the screens, click areas, exclusion zones and overlay deciders again.
+     */
+    SCREENS(() -> {}, true, ScreenRegistry.class),
+    /**
+     * Reloads every plugin of every plugin manager.
+     */
+    FULL(() -> {}, true);
+    
+    private final Runnable invalidator;
+    private final boolean reloadOverlay;
+    private final List<Class<?>> reloadables;
+    
+    ReloadScope(Runnable invalidator, boolean reloadOverlay, Class<?>... reloadables) {
+        this.invalidator = invalidator;
+        this.reloadOverlay = reloadOverlay;
+        this.reloadables = Arrays.asList(reloadables);
+    }
+    
+    /**
+     * Returns whether the reloadable is reloaded in this scope, every reloadable is reloaded in {@link #FULL}.
+     */
+    public boolean contains(Reloadable<?> reloadable) {
+        if (this == FULL) return true;
+        for (Class<?> reloadableClass : reloadables) {
+            if (reloadableClass.isInstance(reloadable)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Invalidates the caches depending on this scope, and refreshes the overlay and the search. This must be called on the client thread,
+     * after the reloadables of this scope are reloaded.
+     */
+    public void invalidateDependents() {
+        invalidator.run();
+        if (reloadOverlay) {
+            REIRuntime.getInstance().getOverlay().ifPresent(ScreenOverlay::queueReloadOverlay);
+        }
+        if (REIRuntimeImpl.getSearchField() != null) {
+            ScreenOverlayImpl.getEntryListWidget().updateSearch(REIRuntimeImpl.getSearchField().getText(), true);
+        }
+    }
+}
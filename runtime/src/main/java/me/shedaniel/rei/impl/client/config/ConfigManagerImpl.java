@@ -30,6 +30,7 @@ import com.mojang.blaze3d.platform.InputConstants;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import dev.architectury.hooks.client.screen.ScreenHooks;
+import dev.architectury.platform.Platform;
 import me.shedaniel.autoconfig.AutoConfig;
 import me.shedaniel.autoconfig.annotation.ConfigEntry;
 import me.shedaniel.autoconfig.gui.ConfigScreenProvider;
@@ -47,6 +48,7 @@ import me.shedaniel.clothconfig2.gui.GlobalizedClothConfigScreen;
 import me.shedaniel.clothconfig2.gui.entries.KeyCodeEntry;
 import me.shedaniel.clothconfig2.gui.entries.TextListEntry;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.RoughlyEnoughItemsCoreClient;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
@@ -54,15 +56,13 @@ import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
 import me.shedaniel.rei.api.client.gui.config.DisplayScreenType;
 import me.shedaniel.rei.api.client.gui.config.SyntaxHighlightingMode;
 import me.shedaniel.rei.api.client.overlay.ScreenOverlay;
-import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.ImmutableTextComponent;
-import me.shedaniel.rei.impl.client.REIRuntimeImpl;
+import me.shedaniel.rei.impl.client.ReloadScope;
 import me.shedaniel.rei.impl.client.config.entries.*;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringRule;
 import me.shedaniel.rei.impl.client.entry.filtering.rules.ManualFilteringRule;
-import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
 import me.shedaniel.rei.impl.client.gui.credits.CreditsScreen;
 import me.shedaniel.rei.impl.client.gui.performance.entry.PerformanceEntry;
 import net.fabricmc.api.EnvType;
@@ -93,11 +93,17 @@ import static me.shedaniel.autoconfig.util.Utils.setUnsafely;
 public class ConfigManagerImpl implements ConfigManager {
     private boolean craftableOnly = false;
     private final Gson gson = new GsonBuilder().create();
+    private final Jankson jankson = buildJankson(Jankson.builder());
+    private final ConfigSaver saver = new ConfigSaver(Platform.getConfigFolder().resolve("roughlyenoughitems/config.json5"),
+            () -> jankson.toJson(getConfig()).toJson(true, true));
     private ConfigObjectImpl object;
     
     public ConfigManagerImpl() {
-        Jankson jankson = Jankson.builder().build();
-        AutoConfig.register(ConfigObjectImpl.class, (definition, configClass) -> new JanksonConfigSerializer<>(definition, configClass, buildJankson(Jankson.builder())));
+        AutoConfig.register(ConfigObjectImpl.class, (definition, configClass) -> new JanksonConfigSerializer<>(definition, configClass, jankson));
+        AutoConfig.getConfigHolder(ConfigObjectImpl.class).registerLoadListener((configHolder, configObject) -> {
+            object = configObject;
+            return InteractionResult.PASS;
+        });
         GuiRegistry guiRegistry = AutoConfig.getGuiRegistry(ConfigObjectImpl.class);
         guiRegistry.registerPredicateProvider((i13n, field, config, defaults, guiProvider) -> {
             if (field.isAnnotationPresent(ConfigEntry.Gui.Excluded.class))
@@ -261,11 +267,7 @@ public class ConfigManagerImpl implements ConfigManager {
         if (getConfig().getFilteringRules().stream().noneMatch(filteringRule -> filteringRule instanceof ManualFilteringRule)) {
             getConfig().getFilteringRules().add(new ManualFilteringRule());
         }
-        AutoConfig.getConfigHolder(ConfigObjectImpl.class).registerLoadListener((configHolder, configObject) -> {
-            object = configObject;
-            return InteractionResult.PASS;
-        });
-        AutoConfig.getConfigHolder(ConfigObjectImpl.class).save();
+        saver.schedule();
     }
     
     @Override
@@ -337,6 +339,7 @@ public class ConfigManagerImpl implements ConfigManager {
                 builder.setGlobalized(true);
                 builder.setGlobalizedExpanded(false);
                 if (Minecraft.getInstance().getConnection() != null && Minecraft.getInstance().getConnection().getRecipeManager() != null) {
+                    builder.getOrCreateCategory(new TranslatableComponent("config.roughlyenoughitems.advanced")).getEntries().add(0, new ExportRecipesEntry(220));
                     builder.getOrCreateCategory(new TranslatableComponent("config.roughlyenoughitems.advanced")).getEntries().add(0, new ReloadPluginsEntry(220));
                     builder.getOrCreateCategory(new TranslatableComponent("config.roughlyenoughitems.advanced")).getEntries().add(0, new PerformanceEntry(220));
                 }
@@ -361,11 +364,8 @@ public class ConfigManagerImpl implements ConfigManager {
                     }));
                 }).setSavingRunnable(() -> {
                     saveConfig();
-                    EntryRegistry.getInstance().refilter();
                     REIRuntime.getInstance().getOverlay().ifPresent(ScreenOverlay::queueReloadOverlay);
-                    if (REIRuntimeImpl.getSearchField() != null) {
-                        ScreenOverlayImpl.getEntryListWidget().updateSearch(REIRuntimeImpl.getSearchField().getText(), true);
-                    }
+                    RoughlyEnoughItemsCoreClient.reloadPlugins(ReloadScope.REFILTER);
                 }).build();
             });
             return provider.get();
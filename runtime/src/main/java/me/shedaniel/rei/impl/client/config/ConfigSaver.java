@@ -0,0 +1,154 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.config;
+
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces config saves, so that rapid changes only result in a single write.
+ * <p>
+ * The config is snapshotted on the client thread once the changes settle down,
+ * the snapshot is then written on a background thread, replacing the file atomically.
+ * Queued writes are drained and pending changes are flushed synchronously when the game exits.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class ConfigSaver {
+    private static final long DELAY_MS = 500;
+    private static final long FLUSH_TIMEOUT_MS = 5000;
+    private static final ScheduledExecutorService SAVER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "REI-ConfigSaver");
+        thread.setDaemon(true);
+        thread.setUncaughtExceptionHandler(($, exception) -> {
+            RoughlyEnoughItemsCore.LOGGER.throwException(exception);
+        });
+        return thread;
+    });
+    
+    private final Path path;
+    private final Supplier<String> snapshotter;
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    
+    public ConfigSaver(Path path, Supplier<String> snapshotter) {
+        this.path = path;
+        this.snapshotter = snapshotter;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "REI-ConfigSaver-Shutdown"));
+    }
+    
+    /**
+     * Schedules a save, saves that are requested while another one is pending are merged into it.
+     */
+    public void schedule() {
+        if (pending.compareAndSet(false, true)) {
+            try {
+                SAVER.schedule(() -> Minecraft.getInstance().execute(this::snapshotAndWrite), DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                Minecraft.getInstance().execute(this::snapshotAndWrite);
+            }
+        }
+    }
+    
+    private void snapshotAndWrite() {
+        if (!pending.compareAndSet(true, false)) return;
+        String snapshot = snapshot();
+        if (snapshot != null) {
+            try {
+                SAVER.execute(() -> write(snapshot));
+            } catch (RejectedExecutionException e) {
+                // the game is exiting, the saver no longer accepts writes
+                write(snapshot);
+            }
+        }
+    }
+    
+    /**
+     * Waits for the writes already queued on the saver thread, then writes the pending changes
+     * on the current thread, used when the game exits.
+     */
+    public void flush() {
+        SAVER.shutdown();
+        try {
+            if (!SAVER.awaitTermination(FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                RoughlyEnoughItemsCore.LOGGER.warn("Timed out waiting for queued config saves!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pending.compareAndSet(true, false)) {
+            String snapshot = snapshot();
+            if (snapshot != null) {
+                write(snapshot);
+            }
+        }
+    }
+    
+    @Nullable
+    private String snapshot() {
+        try {
+            return snapshotter.get();
+        } catch (Throwable throwable) {
+            RoughlyEnoughItemsCore.LOGGER.error("Failed to serialize config!", throwable);
+            return null;
+        }
+    }
+    
+    private void write(String content) {
+        synchronized (writeLock) {
+            Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(path.getParent());
+                try (Writer writer = Files.newBufferedWriter(tmpPath, StandardCharsets.UTF_8)) {
+                    writer.write(content);
+                }
+                try {
+                    Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                RoughlyEnoughItemsCore.LOGGER.error("Failed to save config!", e);
+            }
+        }
+    }
+}
@@ -30,6 +30,7 @@ import me.shedaniel.clothconfig2.api.AbstractConfigListEntry;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.RoughlyEnoughItemsCoreClient;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.impl.client.ReloadScope;
 import me.shedaniel.rei.impl.client.gui.screen.ConfigReloadingScreen;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.chat.NarratorChatListener;
@@ -50,7 +51,7 @@ public class ReloadPluginsEntry extends AbstractConfigListEntry<Unit> {
     private int width;
     private AbstractWidget buttonWidget = new Button(0, 0, 0, 20, NarratorChatListener.NO_TITLE, button -> {
         RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.clear();
-        RoughlyEnoughItemsCoreClient.reloadPlugins(null, null);
+        RoughlyEnoughItemsCoreClient.reloadPlugins(ReloadScope.FULL);
     }) {
         @Override
         public void render(PoseStack matrices, int mouseX, int mouseY, float delta) {
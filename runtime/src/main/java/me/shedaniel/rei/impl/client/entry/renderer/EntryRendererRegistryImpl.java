@@ -25,38 +25,86 @@ package me.shedaniel.rei.impl.client.entry.renderer;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import dev.architectury.fluid.FluidStack;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRendererProvider;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRendererRegistry;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.entry.type.EntryDefinition;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Resolved renderers are memoized per entry definition and item or fluid, as long as every provider
+ * of the entry type is not {@link EntryRendererProvider#isStackDependent() stack dependent}.
+ * The memo is cleared whenever a provider is registered.
+ */
 public class EntryRendererRegistryImpl implements EntryRendererRegistry {
     private final Multimap<EntryType<?>, EntryRendererProvider<?>> providers = Multimaps.newListMultimap(new Reference2ObjectOpenHashMap<>(), ArrayList::new);
+    private final Set<EntryType<?>> stackDependentTypes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Map<EntryDefinition<?>, Map<Object, EntryRenderer<?>>> resolved = new ConcurrentHashMap<>();
     
     @Override
     public <T> void register(EntryType<T> type, EntryRendererProvider<T> provider) {
         this.providers.put(type, provider);
+        if (provider.isStackDependent()) {
+            this.stackDependentTypes.add(type);
+        }
+        this.resolved.clear();
     }
     
     @Override
     public <T> EntryRenderer<T> get(EntryStack<T> stack) {
+        Collection<EntryRendererProvider<T>> typeProviders = (Collection<EntryRendererProvider<T>>) (Collection<? extends EntryRendererProvider<?>>) providers.get(stack.getType());
+        if (typeProviders.isEmpty()) {
+            return stack.getDefinition().getRenderer();
+        }
+        Object key = stackDependentTypes.contains(stack.getType()) ? null : getResolutionKey(stack);
+        if (key == null) {
+            return resolve(stack, typeProviders);
+        }
+        Map<Object, EntryRenderer<?>> definitionResolved = resolved.computeIfAbsent(stack.getDefinition(), $ -> new ConcurrentHashMap<>());
+        EntryRenderer<?> renderer = definitionResolved.get(key);
+        if (renderer == null) {
+            renderer = resolve(stack, typeProviders);
+            definitionResolved.put(key, renderer);
+        }
+        return renderer.cast();
+    }
+    
+    private static <T> EntryRenderer<T> resolve(EntryStack<T> stack, Collection<EntryRendererProvider<T>> typeProviders) {
         EntryRenderer<T> renderer = stack.getDefinition().getRenderer();
-        for (EntryRendererProvider<T> provider : (Collection<EntryRendererProvider<T>>) (Collection<? extends EntryRendererProvider<?>>) providers.get(stack.getType())) {
+        for (EntryRendererProvider<T> provider : typeProviders) {
             renderer = Objects.requireNonNull(provider.provide(stack, renderer));
         }
         return renderer;
     }
     
+    /**
+     * Returns the key the renderer of the stack is resolved by, or {@code null} if the renderer should not be memoized.
+     */
+    @Nullable
+    private static Object getResolutionKey(EntryStack<?> stack) {
+        Object value = stack.getValue();
+        if (value instanceof ItemStack itemStack) {
+            return itemStack.getItem();
+        } else if (value instanceof FluidStack fluidStack) {
+            return fluidStack.getFluid();
+        }
+        return null;
+    }
+    
     @Override
     public void startReload() {
         providers.clear();
+        stackDependentTypes.clear();
+        resolved.clear();
     }
     
     @Override
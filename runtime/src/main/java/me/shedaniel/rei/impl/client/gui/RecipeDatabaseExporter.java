@@ -0,0 +1,247 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.gui;
+
+import com.google.common.base.Stopwatch;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.stream.JsonWriter;
+import com.mojang.serialization.JsonOps;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
+import me.shedaniel.rei.api.common.category.CategoryIdentifier;
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.display.DisplaySerializerRegistry;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.impl.client.gui.toast.ExportRecipeIdentifierToast;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.resources.language.I18n;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams every registered display into a gzip compressed file under {@code rei_exports}, for offline analysis.
+ * <p>
+ * Each display is written as a single line of JSON, holding its category, location, inputs, outputs
+ * and its serialized form if the category has a serializer. Displays are written in chunks,
+ * each chunk is a separate gzip member, so that the memory used stays bounded regardless of the
+ * amount of displays, and a partially written file is still readable.
+ * <p>
+ * Only the references to the displays are captured on the client thread, serialization and
+ * compression happen on a background thread. The export is abandoned if plugins start reloading.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class RecipeDatabaseExporter {
+    private static final int CHUNK_SIZE = 1024;
+    private static final Gson GSON = new Gson();
+    private static final AtomicBoolean EXPORTING = new AtomicBoolean();
+    
+    private RecipeDatabaseExporter() {}
+    
+    public static boolean isExporting() {
+        return EXPORTING.get();
+    }
+    
+    /**
+     * Exports every display currently registered, must be called on the client thread.
+     *
+     * @return the future of the exported file, completed exceptionally if the export failed or was abandoned
+     */
+    public static CompletableFuture<File> exportAll() {
+        if (PluginManager.areAnyReloading()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Plugins are reloading!"));
+        }
+        if (!EXPORTING.compareAndSet(false, true)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Recipes are already being exported!"));
+        }
+        
+        Map<CategoryIdentifier<?>, List<Display>> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<CategoryIdentifier<?>, List<Display>> entry : DisplayRegistry.getInstance().getAll().entrySet()) {
+            snapshot.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+        }
+        File directory = new File(Minecraft.getInstance().gameDirectory, "rei_exports");
+        CompletableFuture<File> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(export(snapshot, directory));
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                EXPORTING.set(false);
+            }
+        }, "REI-RecipeDatabaseExporter");
+        thread.setDaemon(true);
+        thread.start();
+        return future.whenCompleteAsync((file, throwable) -> {
+            if (throwable != null) {
+                RoughlyEnoughItemsCore.LOGGER.error("Failed to export recipes", throwable);
+                ExportRecipeIdentifierToast.addToast(I18n.get("msg.rei.export_recipes_failed"), null);
+            } else {
+                ExportRecipeIdentifierToast.addToast(I18n.get("msg.rei.exported_recipes"), I18n.get("msg.rei.exported_recipe.desc"));
+            }
+        }, Minecraft.getInstance());
+    }
+    
+    private static File getExportFilename(File directory) {
+        String string = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        int i = 1;
+        
+        while (true) {
+            File file = new File(directory, string + (i == 1 ? "" : "_" + i) + ".jsonl.gz");
+            if (!file.exists()) {
+                return file;
+            }
+            
+            ++i;
+        }
+    }
+    
+    private static File export(Map<CategoryIdentifier<?>, List<Display>> snapshot, File directory) throws IOException {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        directory.mkdirs();
+        File file = getExportFilename(directory);
+        int exported = 0;
+        
+        try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file), 1 << 16)) {
+            Writer chunk = null;
+            for (Map.Entry<CategoryIdentifier<?>, List<Display>> entry : snapshot.entrySet()) {
+                for (Display display : entry.getValue()) {
+                    if (chunk == null) {
+                        if (PluginManager.areAnyReloading()) {
+                            throw new IOException("Plugins started reloading during the export!");
+                        }
+                        chunk = openChunk(stream);
+                    }
+                    writeDisplay(new JsonWriter(chunk), entry.getKey(), display);
+                    chunk.write('\n');
+                    if (++exported % CHUNK_SIZE == 0) {
+                        chunk.close();
+                        chunk = null;
+                    }
+                }
+            }
+            if (chunk != null) {
+                chunk.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            file.delete();
+            throw e;
+        }
+        
+        RoughlyEnoughItemsCore.LOGGER.info("Exported %d displays to %s in %s.", exported, file.getName(), stopwatch.stop().toString());
+        return file;
+    }
+    
+    /**
+     * Opens a new gzip member on the file, closing the returned writer finishes the member
+     * without closing the file.
+     */
+    private static Writer openChunk(OutputStream stream) throws IOException {
+        OutputStream shielded = new FilterOutputStream(stream) {
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+            }
+            
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(shielded, 1 << 16), StandardCharsets.UTF_8));
+    }
+    
+    private static void writeDisplay(JsonWriter writer, CategoryIdentifier<?> categoryId, Display display) throws IOException {
+        writer.beginObject();
+        writer.name("category").value(categoryId.toString());
+        writer.name("location").value(display.getDisplayLocation().map(Object::toString).orElse(null));
+        writer.name("inputs");
+        writeIngredients(writer, display.getInputEntries());
+        writer.name("outputs");
+        writeIngredients(writer, display.getOutputEntries());
+        DisplaySerializerRegistry serializers = DisplaySerializerRegistry.getInstance();
+        if (serializers.hasSerializer(categoryId)) {
+            JsonElement serialized = null;
+            try {
+                serialized = toJson(serializers.save(display, new CompoundTag()));
+            } catch (Throwable ignored) {
+                // the display is still exported, without its serialized form
+            }
+            writer.name("display");
+            GSON.toJson(serialized == null ? JsonNull.INSTANCE : serialized, writer);
+        }
+        writer.endObject();
+    }
+    
+    private static void writeIngredients(JsonWriter writer, List<EntryIngredient> ingredients) throws IOException {
+        writer.beginArray();
+        for (EntryIngredient ingredient : ingredients) {
+            writer.beginArray();
+            for (EntryStack<?> stack : ingredient) {
+                writeStack(writer, stack);
+            }
+            writer.endArray();
+        }
+        writer.endArray();
+    }
+    
+    private static void writeStack(JsonWriter writer, EntryStack<?> stack) throws IOException {
+        JsonElement serialized = null;
+        if (stack.supportSaving()) {
+            try {
+                serialized = toJson(stack.save());
+            } catch (Throwable ignored) {
+                // falls back to the identifier of the stack
+            }
+        }
+        if (serialized != null) {
+            GSON.toJson(serialized, writer);
+        } else {
+            writer.beginObject();
+            writer.name("type").value(stack.getType().getId().toString());
+            writer.name("identifier").value(Objects.toString(stack.getIdentifier()));
+            writer.endObject();
+        }
+    }
+    
+    private static JsonElement toJson(Tag tag) {
+        return NbtOps.INSTANCE.convertTo(JsonOps.INSTANCE, tag);
+    }
+}
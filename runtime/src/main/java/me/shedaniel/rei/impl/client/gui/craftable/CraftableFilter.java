@@ -26,17 +26,16 @@ package me.shedaniel.rei.impl.client.gui.craftable;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
 import it.unimi.dsi.fastutil.longs.LongSets;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
 import me.shedaniel.rei.api.common.transfer.info.stack.SlotAccessor;
 import me.shedaniel.rei.api.common.util.EntryStacks;
-import me.shedaniel.rei.impl.client.ClientHelperImpl;
-import net.minecraft.client.Minecraft;
 
 public class CraftableFilter {
     public static final CraftableFilter INSTANCE = new CraftableFilter();
     private boolean dirty = false;
     private LongSet invStacks = new LongOpenHashSet();
+    private int inventoryVersion = -1;
     
     public void markDirty() {
         dirty = true;
@@ -52,26 +51,39 @@ public class CraftableFilter {
     }
     
     public void tick() {
-        if (dirty) return;
-        LongSet currentStacks;
+        InventoryTracker tracker = InventoryTracker.INSTANCE;
         try {
-            currentStacks = ClientHelperImpl.getInstance()._getInventoryItemsTypes();
+            tracker.tick();
         } catch (Throwable throwable) {
             throwable.printStackTrace();
-            currentStacks = LongSets.EMPTY_SET;
         }
-        if (!currentStacks.equals(this.invStacks)) {
-            invStacks = new LongOpenHashSet(currentStacks);
+        if (dirty) return;
+        if (tracker.getVersion() != inventoryVersion) {
+            inventoryVersion = tracker.getVersion();
+            // craftable entries may be computed off-thread, publish an immutable copy
+            invStacks = tracker.copyTypes();
             markDirty();
         }
     }
     
-    public boolean matches(EntryStack<?> stack, Iterable<SlotAccessor> inputSlots) {
-        if (invStacks.contains(EntryStacks.hashFuzzy(stack))) return true;
-        if (stack.getType() != VanillaEntryTypes.ITEM) return false;
+    /**
+     * Returns the fuzzy hashes of the items in the input slots, which are not part of the tracked inventory.
+     */
+    public LongSet hashInputSlots(Iterable<SlotAccessor> inputSlots) {
+        LongSet hashes = null;
         for (SlotAccessor slot : inputSlots) {
             EntryStack<?> itemStack = EntryStacks.of(slot.getItemStack());
-            if (!itemStack.isEmpty() && EntryStacks.equalsFuzzy(itemStack, stack)) {
+            if (!itemStack.isEmpty()) {
+                if (hashes == null) hashes = new LongOpenHashSet();
+                hashes.add(EntryStacks.hashFuzzy(itemStack));
+            }
+        }
+        return hashes == null ? LongSets.EMPTY_SET : hashes;
+    }
+    
+    public boolean matches(EntryIngredient ingredient, LongSet inputSlotHashes) {
+        for (long hash : ingredient.getFuzzyHashes()) {
+            if (invStacks.contains(hash) || inputSlotHashes.contains(hash)) {
                 return true;
             }
         }
@@ -0,0 +1,184 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.gui.craftable;
+
+import it.unimi.dsi.fastutil.longs.*;
+import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.NonNullList;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tracks the fuzzy hashes of the items in the player inventory, slot by slot.
+ * <p>
+ * A slot is only hashed again when its stack, item, count or tag (by identity) changed since the last tick,
+ * the types in the inventory are kept as a multiset of hashes and are updated incrementally.
+ * The version is bumped every time a type enters or leaves the inventory.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class InventoryTracker {
+    public static final InventoryTracker INSTANCE = new InventoryTracker();
+    @Nullable
+    private Inventory inventory;
+    private ItemStack[] stacks = new ItemStack[0];
+    private Item[] items = new Item[0];
+    private int[] counts = new int[0];
+    private CompoundTag[] tags = new CompoundTag[0];
+    private long[] hashes = new long[0];
+    private final Long2IntOpenHashMap typeCounts = new Long2IntOpenHashMap();
+    private final LongSet added = new LongOpenHashSet();
+    private final LongSet removed = new LongOpenHashSet();
+    private LongSet lastAdded = LongSets.EMPTY_SET;
+    private LongSet lastRemoved = LongSets.EMPTY_SET;
+    private int version;
+    
+    public void tick() {
+        try {
+            VanillaEntryTypes.ITEM.getDefinition();
+        } catch (NullPointerException e) {
+            return;
+        }
+        Inventory inventory = Minecraft.getInstance().player == null ? null : Minecraft.getInstance().player.getInventory();
+        added.clear();
+        removed.clear();
+        
+        if (inventory == null) {
+            resize(null, 0);
+        } else {
+            int size = 0;
+            for (NonNullList<ItemStack> compartment : inventory.compartments) {
+                size += compartment.size();
+            }
+            if (inventory != this.inventory || size != stacks.length) {
+                resize(inventory, size);
+            }
+            int slot = 0;
+            for (NonNullList<ItemStack> compartment : inventory.compartments) {
+                for (int i = 0; i < compartment.size(); i++, slot++) {
+                    ItemStack stack = compartment.get(i);
+                    if (stack != stacks[slot] || stack.getItem() != items[slot] || stack.getCount() != counts[slot] || stack.getTag() != tags[slot]) {
+                        update(slot, stack);
+                    }
+                }
+            }
+        }
+        
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            lastAdded = LongSets.unmodifiable(new LongOpenHashSet(added));
+            lastRemoved = LongSets.unmodifiable(new LongOpenHashSet(removed));
+            version++;
+        }
+    }
+    
+    private void resize(@Nullable Inventory inventory, int size) {
+        for (int slot = 0; slot < stacks.length; slot++) {
+            if (!stacks[slot].isEmpty()) {
+                removeType(hashes[slot]);
+            }
+        }
+        this.inventory = inventory;
+        this.stacks = new ItemStack[size];
+        this.items = new Item[size];
+        this.counts = new int[size];
+        this.tags = new CompoundTag[size];
+        this.hashes = new long[size];
+        for (int slot = 0; slot < size; slot++) {
+            stacks[slot] = ItemStack.EMPTY;
+            items[slot] = ItemStack.EMPTY.getItem();
+        }
+    }
+    
+    private void update(int slot, ItemStack stack) {
+        if (!stacks[slot].isEmpty()) {
+            removeType(hashes[slot]);
+        }
+        stacks[slot] = stack;
+        items[slot] = stack.getItem();
+        counts[slot] = stack.getCount();
+        tags[slot] = stack.getTag();
+        if (!stack.isEmpty()) {
+            long hash = EntryStacks.hashFuzzy(EntryStacks.of(stack));
+            hashes[slot] = hash;
+            addType(hash);
+        }
+    }
+    
+    private void addType(long hash) {
+        if (typeCounts.addTo(hash, 1) == 0) {
+            if (!removed.remove(hash)) {
+                added.add(hash);
+            }
+        }
+    }
+    
+    private void removeType(long hash) {
+        if (typeCounts.addTo(hash, -1) == 1) {
+            typeCounts.remove(hash);
+            if (!added.remove(hash)) {
+                removed.add(hash);
+            }
+        }
+    }
+    
+    /**
+     * Returns the version of the types in the inventory, which changes every time a type enters or leaves the inventory.
+     */
+    public int getVersion() {
+        return version;
+    }
+    
+    public boolean contains(long hashFuzzy) {
+        return typeCounts.containsKey(hashFuzzy);
+    }
+    
+    /**
+     * Returns a copy of the fuzzy hashes of the types in the inventory.
+     */
+    public LongSet copyTypes() {
+        return new LongOpenHashSet(typeCounts.keySet());
+    }
+    
+    /**
+     * Returns the types that entered the inventory in the last change.
+     */
+    public LongSet getLastAdded() {
+        return lastAdded;
+    }
+    
+    /**
+     * Returns the types that left the inventory in the last change.
+     */
+    public LongSet getLastRemoved() {
+        return lastRemoved;
+    }
+}
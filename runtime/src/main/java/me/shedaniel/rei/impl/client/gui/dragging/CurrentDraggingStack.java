@@ -117,7 +117,7 @@ public class CurrentDraggingStack extends Widget implements LateRenderable, Drag
         while (iterator.hasNext()) {
             RenderBackEntry renderBackEntry = iterator.next();
             renderBackEntry.update(delta);
-            FloatingRectangle value = renderBackEntry.bounds.value();
+            FloatingRectangle value = renderBackEntry.bounds.sharedValue();
             FloatingRectangle target = renderBackEntry.bounds.target();
             if (value.width < 2 || value.height < 2 || (Math.abs(value.x - target.x) <= 2 && Math.abs(value.y - target.y) <= 2 && Math.abs(value.width - target.width) <= 1 && Math.abs(value.height - target.height) <= 1)) {
                 iterator.remove();
@@ -31,10 +31,9 @@ import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.config.entry.EntryStackProvider;
-import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.EntryStacks;
-import me.shedaniel.rei.impl.client.REIRuntimeImpl;
+import me.shedaniel.rei.impl.client.ReloadScope;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
 import me.shedaniel.rei.impl.client.gui.modules.Menu;
 import me.shedaniel.rei.impl.client.gui.modules.MenuEntry;
@@ -106,10 +105,7 @@ public class EntryStackSubsetsMenuEntry extends MenuEntry {
                     if (menu != null)
                         recalculateFilter(menu);
                     ConfigManager.getInstance().saveConfig();
-                    EntryRegistry.getInstance().refilter();
-                    if (REIRuntimeImpl.getSearchField() != null) {
-                        ScreenOverlayImpl.getEntryListWidget().updateSearch(REIRuntimeImpl.getSearchField().getText(), true);
-                    }
+                    RoughlyEnoughItemsCoreClient.reloadPlugins(ReloadScope.REFILTER);
                 }
             } else if (!RoughlyEnoughItemsCoreClient.isLeftMousePressed) clickedLast = false;
         } else clickedLast = false;
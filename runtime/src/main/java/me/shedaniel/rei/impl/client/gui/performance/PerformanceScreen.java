@@ -31,21 +31,27 @@ import me.shedaniel.rei.api.common.plugins.REIPlugin;
 import me.shedaniel.rei.api.common.plugins.REIPluginProvider;
 import me.shedaniel.rei.impl.client.gui.performance.entry.EntryListEntry;
 import me.shedaniel.rei.impl.client.gui.performance.entry.SubCategoryListEntry;
+import me.shedaniel.rei.impl.client.gui.toast.ExportRecipeIdentifierToast;
+import me.shedaniel.rei.impl.common.logging.performance.LatencyHistogram;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiComponent;
 import net.minecraft.client.gui.components.Button;
 import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.client.resources.language.I18n;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.TextColor;
 import net.minecraft.network.chat.TextComponent;
 import net.minecraft.network.chat.TranslatableComponent;
 import net.minecraft.util.FormattedCharSequence;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 import static java.util.concurrent.TimeUnit.*;
 
@@ -144,16 +150,20 @@ public class PerformanceScreen extends Screen {
                 this.parent = null;
             }));
         }
+        {
+            Component exportText = new TranslatableComponent("text.rei.export_performance");
+            int exportWidth = Minecraft.getInstance().font.width(exportText) + 10;
+            addRenderableWidget(new Button(width - exportWidth - 4, 4, exportWidth, 20, exportText, button -> export()));
+        }
         list = new PerformanceEntryListWidget();
         RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.getStages().forEach((stage, inner) -> {
             List<EntryListEntry> entries = new ArrayList<>();
             inner.times().forEach((obj, time) -> {
                 entries.add(new EntryListEntry(new TextComponent(obj instanceof Pair ? ((Pair<REIPluginProvider<?>, REIPlugin<?>>) obj).getFirst().getPluginProviderName() : Objects.toString(obj)), time));
             });
-            Collection<Long> values = inner.times().values();
-            long separateTime;
-            synchronized (inner.times()) {
-                separateTime = values.stream().collect(Collectors.summarizingLong(value -> value)).getSum();
+            long separateTime = 0;
+            for (EntryListEntry entry : entries) {
+                separateTime += entry.time;
             }
             if ((inner.totalNano() - separateTime) > 1000000) {
                 entries.add(new EntryListEntry(new TextComponent("Miscellaneous Operations"), inner.totalNano() - separateTime));
@@ -161,9 +171,37 @@ public class PerformanceScreen extends Screen {
             entries.sort(Comparator.<EntryListEntry>comparingLong(value -> value.time).reversed());
             list.addItem(new SubCategoryListEntry(new TextComponent(stage), (List<PerformanceScreen.PerformanceEntry>) (List<? extends PerformanceScreen.PerformanceEntry>) entries, inner.totalNano(), false));
         });
+        RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.getHistograms().forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            if (snapshot.count() == 0) return;
+            List<EntryListEntry> entries = new ArrayList<>();
+            entries.add(new EntryListEntry(new TextComponent("Median (p50)"), snapshot.percentileNanos(0.5)));
+            entries.add(new EntryListEntry(new TextComponent("99th Percentile (p99)"), snapshot.percentileNanos(0.99)));
+            entries.add(new EntryListEntry(new TextComponent("Maximum"), snapshot.maxNanos()));
+            entries.add(new EntryListEntry(new TextComponent("Mean"), snapshot.meanNanos()));
+            list.addItem(new SubCategoryListEntry(new TextComponent(name + " (" + snapshot.count() + " samples)"), (List<PerformanceScreen.PerformanceEntry>) (List<? extends PerformanceScreen.PerformanceEntry>) entries, snapshot.totalNanos(), false));
+        });
         addWidget(list);
     }
     
+    private static void export() {
+        File directory = new File(Minecraft.getInstance().gameDirectory, "rei_exports");
+        String date = new SimpleDateFormat("yyyy-MM-dd_HH.mm.ss").format(new Date());
+        Util.ioPool().execute(() -> {
+            directory.mkdirs();
+            File file = new File(directory, "performance_" + date + ".txt");
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.dump(writer);
+            } catch (IOException e) {
+                RoughlyEnoughItemsCore.LOGGER.error("Failed to export performance metrics", e);
+                return;
+            }
+            Minecraft.getInstance().execute(() -> {
+                ExportRecipeIdentifierToast.addToast(I18n.get("msg.rei.exported_performance"), I18n.get("msg.rei.exported_recipe.desc"));
+            });
+        });
+    }
+    
     @Override
     public void render(PoseStack poses, int mouseX, int mouseY, float delta) {
         renderDirtBackground(0);
@@ -25,6 +25,7 @@ package me.shedaniel.rei.impl.client.gui.screen;
 
 import com.google.common.collect.Lists;
 import dev.architectury.fluid.FluidStack;
+import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.rei.api.client.gui.screen.DisplayScreen;
 import me.shedaniel.rei.api.client.gui.widgets.Slot;
@@ -37,6 +38,7 @@ import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.entry.type.EntryType;
 import me.shedaniel.rei.api.common.entry.type.VanillaEntryTypes;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.ClientHelperImpl;
 import me.shedaniel.rei.impl.client.gui.widget.EntryWidget;
 import me.shedaniel.rei.impl.display.DisplaySpec;
@@ -45,19 +47,23 @@ import net.minecraft.client.gui.chat.NarratorChatListener;
 import net.minecraft.client.gui.components.events.GuiEventListener;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.core.Registry;
+import net.minecraft.network.chat.TextComponent;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.Tag;
 import net.minecraft.tags.TagCollection;
 import net.minecraft.tags.TagContainer;
 import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public abstract class AbstractDisplayViewingScreen extends Screen implements DisplayScreen {
+    private static final int DISPLAY_WIDGETS_CACHE_SIZE = 32;
     protected final Map<DisplayCategory<?>, List<DisplaySpec>> categoryMap;
     protected final List<DisplayCategory<?>> categories;
     protected List<EntryStack<?>> ingredientStackToNotice = new ArrayList<>();
@@ -65,6 +71,12 @@ public abstract class AbstractDisplayViewingScreen extends Screen implements Dis
     protected int selectedCategoryIndex = 0;
     protected int tabsPerPage;
     protected Rectangle bounds;
+    private Map<DisplayWidgetsKey, List<Widget>> displayWidgetsCache = new LinkedHashMap<DisplayWidgetsKey, List<Widget>>(DISPLAY_WIDGETS_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DisplayWidgetsKey, List<Widget>> eldest) {
+            return size() > DISPLAY_WIDGETS_CACHE_SIZE;
+        }
+    };
     
     protected AbstractDisplayViewingScreen(Map<DisplayCategory<?>, List<DisplaySpec>> categoryMap, @Nullable CategoryIdentifier<?> category, int tabsPerPage) {
         super(NarratorChatListener.NO_TITLE);
@@ -138,6 +150,48 @@ public abstract class AbstractDisplayViewingScreen extends Screen implements Dis
         ClientHelperImpl.getInstance().openRecipeViewingScreen(categoryMap, categories.get(currentCategoryIndex).getCategoryIdentifier(), ingredientStackToNotice, resultStackToNotice);
     }
     
+    /**
+     * Shares the display widgets set up by the previous screen with this screen. Switching categories
+     * opens a new screen, this keeps the widgets of displays shown before from being set up again.
+     */
+    @ApiStatus.Internal
+    public void inheritDisplayWidgets(AbstractDisplayViewingScreen previous) {
+        this.displayWidgetsCache = previous.displayWidgetsCache;
+    }
+    
+    /**
+     * Sets up the widgets of the display at the bounds, recently set up widgets are reused
+     * when the same display is shown at the same bounds with the same notices again, for example when flipping back to a page.
+     * <p>
+     * Widgets of plugins hold absolute positions, therefore widgets are never moved to other bounds.
+     */
+    protected List<Widget> setupDisplay(DisplayCategory<Display> category, DisplaySpec display, Rectangle bounds) {
+        DisplayWidgetsKey key = new DisplayWidgetsKey(display, bounds.clone(), List.copyOf(ingredientStackToNotice), List.copyOf(resultStackToNotice));
+        List<Widget> cached = displayWidgetsCache.get(key);
+        if (cached != null) {
+            // restore the state setupTags would have left
+            for (EntryWidget widget : Widgets.<EntryWidget>walk(cached, EntryWidget.class::isInstance)) {
+                widget.removeTagMatch = false;
+            }
+            return cached;
+        }
+        List<Widget> setupDisplay;
+        try {
+            setupDisplay = category.setupDisplay(display.provideInternalDisplay(), bounds);
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
+            setupDisplay = new ArrayList<>();
+            setupDisplay.add(Widgets.createRecipeBase(bounds).color(0xFFBB0000));
+            setupDisplay.add(Widgets.createLabel(new Point(bounds.getCenterX(), bounds.getCenterY() - 8), new TextComponent("Failed to initiate setupDisplay")));
+            setupDisplay.add(Widgets.createLabel(new Point(bounds.getCenterX(), bounds.getCenterY() + 1), new TextComponent("Check console for error")));
+        }
+        setupTags(setupDisplay);
+        transformIngredientNotice(setupDisplay, ingredientStackToNotice);
+        transformResultNotice(setupDisplay, resultStackToNotice);
+        displayWidgetsCache.put(key, setupDisplay);
+        return setupDisplay;
+    }
+    
     protected void transformIngredientNotice(List<Widget> setupDisplay, List<EntryStack<?>> noticeStacks) {
         transformNotice(Slot.INPUT, setupDisplay, noticeStacks);
     }
@@ -193,4 +247,31 @@ public abstract class AbstractDisplayViewingScreen extends Screen implements Dis
             }
         }
     }
+    
+    /**
+     * The notices are part of the key, since the widgets are transformed to show the noticed stacks.
+     */
+    private record DisplayWidgetsKey(DisplaySpec display, Rectangle bounds, List<EntryStack<?>> ingredientNotice,
+                                     List<EntryStack<?>> resultNotice) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof DisplayWidgetsKey key && display == key.display && bounds.equals(key.bounds)
+                   && equalsExact(ingredientNotice, key.ingredientNotice) && equalsExact(resultNotice, key.resultNotice);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(display) + bounds.hashCode();
+        }
+        
+        private static boolean equalsExact(List<EntryStack<?>> stacks, List<EntryStack<?>> otherStacks) {
+            if (stacks.size() != otherStacks.size()) return false;
+            for (int i = 0; i < stacks.size(); i++) {
+                if (!EntryStacks.equalsExact(stacks.get(i), otherStacks.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
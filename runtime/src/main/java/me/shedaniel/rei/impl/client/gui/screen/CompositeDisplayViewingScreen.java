@@ -63,7 +63,6 @@ import net.minecraft.util.Mth;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -155,19 +154,7 @@ public class CompositeDisplayViewingScreen extends AbstractDisplayViewingScreen
         this.widgets.add(Widgets.createSlotBase(scrollListBounds));
         
         Rectangle recipeBounds = new Rectangle(bounds.x + 100 + (guiWidth - 100) / 2 - category.getDisplayWidth(display.provideInternalDisplay()) / 2, bounds.y + bounds.height / 2 - category.getDisplayHeight() / 2, category.getDisplayWidth(display.provideInternalDisplay()), category.getDisplayHeight());
-        List<Widget> setupDisplay;
-        try {
-            setupDisplay = category.setupDisplay(display.provideInternalDisplay(), recipeBounds);
-        } catch (Throwable throwable) {
-            throwable.printStackTrace();
-            setupDisplay = new ArrayList<>();
-            setupDisplay.add(Widgets.createRecipeBase(recipeBounds).color(0xFFBB0000));
-            setupDisplay.add(Widgets.createLabel(new Point(recipeBounds.getCenterX(), recipeBounds.getCenterY() - 8), new TextComponent("Failed to initiate setupDisplay")));
-            setupDisplay.add(Widgets.createLabel(new Point(recipeBounds.getCenterX(), recipeBounds.getCenterY() + 1), new TextComponent("Check console for error")));
-        }
-        setupTags(setupDisplay);
-        transformIngredientNotice(setupDisplay, ingredientStackToNotice);
-        transformResultNotice(setupDisplay, resultStackToNotice);
+        List<Widget> setupDisplay = setupDisplay(category, display, recipeBounds);
         for (EntryWidget widget : Widgets.<EntryWidget>walk(widgets, EntryWidget.class::isInstance)) {
             widget.removeTagMatch = true;
         }
@@ -150,7 +150,7 @@ public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
         int largestHeight = Math.min(Math.max(height - 34 - 30, 100), ConfigObject.getInstance().getMaxRecipesPageHeight());
         int maxWidthDisplay = CollectionUtils.<DisplaySpec, Integer>mapAndMax(getCurrentDisplayed(), display -> getCurrentCategory().getDisplayWidth(display.provideInternalDisplay()), Comparator.naturalOrder()).orElse(150);
         int maxHeight = Math.min(largestHeight, CollectionUtils.<DisplayCategory<?>, Integer>mapAndMax(categories,
-                category -> (category.getDisplayHeight() + 4) * Math.max(1, Math.min(getRecipesPerPage(largestHeight, category) + 1, Math.max(categoryMap.get(category).size(), ConfigObject.getInstance().getMaxRecipePerPage()))) + 36, Comparator.naturalOrder()).orElse(66));
+                category -> (category.getDisplayHeight() + 4) * Math.max(1, getMaxDisplaysPerPage(largestHeight, category)) + 36, Comparator.naturalOrder()).orElse(66));
         int totalDisplayHeight = (getCurrentCategory().getDisplayHeight() + 4) * Math.max(1, getRecipesPerPage(maxHeight, getCurrentCategory()) + 1) + 36;
         int guiWidth = Math.max(maxWidthDisplay + 10, 190);
         this.bounds = new Rectangle(width / 2 - guiWidth / 2, height / 2 - maxHeight / 2, guiWidth, maxHeight);
@@ -254,19 +254,7 @@ public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
             final Supplier<Display> displaySupplier = display::provideInternalDisplay;
             int displayWidth = getCurrentCategory().getDisplayWidth(displaySupplier.get());
             final Rectangle displayBounds = new Rectangle(getBounds().getCenterX() - displayWidth / 2, getBounds().getCenterY() + 16 - displayHeight * (getRecipesPerPage() + 1) / 2 - 2 * (getRecipesPerPage() + 1) + displayHeight * i + 4 * i, displayWidth, displayHeight);
-            List<Widget> setupDisplay;
-            try {
-                setupDisplay = getCurrentCategory().setupDisplay(display.provideInternalDisplay(), displayBounds);
-            } catch (Throwable throwable) {
-                throwable.printStackTrace();
-                setupDisplay = new ArrayList<>();
-                setupDisplay.add(Widgets.createRecipeBase(displayBounds).color(0xFFBB0000));
-                setupDisplay.add(Widgets.createLabel(new Point(displayBounds.getCenterX(), displayBounds.getCenterY() - 8), new TextComponent("Failed to initiate setupDisplay")));
-                setupDisplay.add(Widgets.createLabel(new Point(displayBounds.getCenterX(), displayBounds.getCenterY() + 1), new TextComponent("Check console for error")));
-            }
-            setupTags(setupDisplay);
-            transformIngredientNotice(setupDisplay, ingredientStackToNotice);
-            transformResultNotice(setupDisplay, resultStackToNotice);
+            List<Widget> setupDisplay = setupDisplay(getCurrentCategory(), display, displayBounds);
             for (EntryWidget widget : Widgets.<EntryWidget>walk(widgets, EntryWidget.class::isInstance)) {
                 widget.removeTagMatch = true;
             }
@@ -332,6 +320,14 @@ public class DefaultDisplayViewingScreen extends AbstractDisplayViewingScreen {
         return getRecipesPerPage(this.bounds.height, getCurrentCategory());
     }
     
+    private int getMaxDisplaysPerPage(int totalHeight, DisplayCategory<?> category) {
+        int perPage = getRecipesPerPage(totalHeight, category) + 1;
+        int maxRecipePerPage = ConfigObject.getInstance().getMaxRecipePerPage();
+        // avoid querying the size when it can't matter, the displays of the category are collected lazily
+        if (perPage <= maxRecipePerPage) return perPage;
+        return Math.min(perPage, Math.max(categoryMap.get(category).size(), maxRecipePerPage));
+    }
+    
     private static int getRecipesPerPage(int totalHeight, DisplayCategory<?> category) {
         if (category.getFixedDisplaysPerPage() > 0)
             return category.getFixedDisplaysPerPage() - 1;
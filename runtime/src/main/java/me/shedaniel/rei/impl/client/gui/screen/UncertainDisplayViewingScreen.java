@@ -48,6 +48,7 @@ import me.shedaniel.rei.api.client.gui.widgets.WidgetWithBounds;
 import me.shedaniel.rei.api.client.gui.widgets.Widgets;
 import me.shedaniel.rei.api.common.util.ImmutableTextComponent;
 import me.shedaniel.rei.impl.ClientInternals;
+import me.shedaniel.rei.impl.client.ReloadScope;
 import me.shedaniel.rei.impl.client.config.ConfigManagerImpl;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
@@ -149,7 +150,7 @@ public class UncertainDisplayViewingScreen extends Screen {
                         ConfigManagerImpl.getInstance().getConfig().setJEICompatibilityLayerEnabled(jeiEnabled);
                         ConfigManager.getInstance().saveConfig();
                         RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.clear();
-                        RoughlyEnoughItemsCoreClient.reloadPlugins(null, null);
+                        RoughlyEnoughItemsCoreClient.reloadPlugins(ReloadScope.FULL);
                         Minecraft.getInstance().setScreen(new ConfigReloadingScreen(() -> callback.accept(original)));
                     } else {
                         callback.accept(original);
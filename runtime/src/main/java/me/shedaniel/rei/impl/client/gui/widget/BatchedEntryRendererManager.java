@@ -23,11 +23,10 @@
 
 package me.shedaniel.rei.impl.client.gui.widget;
 
-import com.google.common.collect.AbstractIterator;
-import com.google.common.collect.Iterables;
 import com.mojang.blaze3d.vertex.PoseStack;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.entry.renderer.BatchedEntryRenderer;
 import me.shedaniel.rei.api.client.entry.renderer.EntryRenderer;
@@ -42,10 +41,15 @@ import org.apache.commons.lang3.mutable.MutableLong;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 public class BatchedEntryRendererManager {
+    private static final LongAdder BATCHED_RENDERS = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Batched Entry Renders");
+    private static final LongAdder SLOW_RENDERS = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Slow Path Entry Renders");
+    private static int extraDataVersion = 0;
     private boolean fastEntryRendering = ConfigObject.getInstance().doesFastEntryRendering();
-    private Int2ObjectMap<List<Object>> grouping = new Int2ObjectOpenHashMap<>();
+    private Int2ObjectMap<Group> grouping = new Int2ObjectOpenHashMap<>();
+    private List<Group> groups = new ArrayList<>();
     private List<EntryWidget> toRender = new ArrayList<>();
     
     public BatchedEntryRendererManager() {
@@ -55,6 +59,30 @@ public class BatchedEntryRendererManager {
         addAll(widgets);
     }
     
+    /**
+     * Invalidates the extra data cached on every {@link EntryWidget}, called when resources are reloaded.
+     */
+    public static void invalidateExtraData() {
+        extraDataVersion++;
+    }
+    
+    public static int getExtraDataVersion() {
+        return extraDataVersion;
+    }
+    
+    /**
+     * Clears the entries of this manager, keeping the allocated groups so the manager can be reused.
+     * Callers that retain the manager across frames only need to reset and re-add the entries
+     * when the rendered widgets change, rendering a retained manager does not allocate.
+     */
+    public void reset() {
+        this.fastEntryRendering = ConfigObject.getInstance().doesFastEntryRendering();
+        for (int i = 0; i < groups.size(); i++) {
+            groups.get(i).clear();
+        }
+        this.toRender.clear();
+    }
+    
     public void addAll(Collection<? extends EntryWidget> widgets) {
         if (fastEntryRendering) {
             for (EntryWidget widget : widgets) {
@@ -74,15 +102,16 @@ public class BatchedEntryRendererManager {
                     BatchedEntryRenderer<Object, Object> batchedRenderer = (BatchedEntryRenderer<Object, Object>) renderer;
                     EntryStack<Object> cast = currentEntry.cast();
                     if (batchedRenderer.isBatched(cast)) {
-                        Object extraData = batchedRenderer.getExtraData(cast);
+                        Object extraData = widget.getExtraData(batchedRenderer, cast);
                         int hash = batchedRenderer.getBatchIdentifier(cast, widget.getBounds(), extraData)
                                    ^ widget.getCurrentEntry().getType().hashCode();
-                        List<Object> entries = grouping.get(hash);
-                        if (entries == null) {
-                            grouping.put(hash, entries = new ArrayList<>());
+                        Group group = grouping.get(hash);
+                        if (group == null) {
+                            grouping.put(hash, group = new Group());
+                            groups.add(group);
                         }
-                        entries.add(widget);
-                        entries.add(extraData);
+                        group.widgets.add(widget);
+                        group.extraData.add(extraData);
                         return;
                     }
                 }
@@ -101,24 +130,11 @@ public class BatchedEntryRendererManager {
     
     public void render(boolean debugTime, MutableInt size, MutableLong time, PoseStack matrices, int mouseX, int mouseY, float delta) {
         if (fastEntryRendering) {
-            for (List<Object> entries : grouping.values()) {
-                Object[] extraData = new Object[entries.size() / 2];
-                for (int i = 0; i < extraData.length; i++) {
-                    extraData[i] = entries.get(i * 2 + 1);
+            for (int i = 0; i < groups.size(); i++) {
+                Group group = groups.get(i);
+                if (!group.widgets.isEmpty()) {
+                    renderBatched(debugTime, size, time, matrices, mouseX, mouseY, delta, group.widgets, group.extraData);
                 }
-                renderBatched(debugTime, size, time, matrices, mouseX, mouseY, delta, () -> new AbstractIterator<>() {
-                    public int i = 0;
-                    
-                    @Override
-                    protected EntryWidget computeNext() {
-                        if (i >= entries.size()) {
-                            return endOfData();
-                        }
-                        EntryWidget widget = (EntryWidget) entries.get(i);
-                        i += 2;
-                        return widget;
-                    }
-                }, extraData);
             }
         }
         if (!toRender.isEmpty()) {
@@ -127,28 +143,26 @@ public class BatchedEntryRendererManager {
     }
     
     public static <T extends EntryWidget> void renderEntries(boolean debugTime, MutableInt size, MutableLong time, boolean fastEntryRendering, PoseStack matrices, int mouseX, int mouseY, float delta, Collection<T> entries) {
+        List<T> entryList = entries instanceof List ? (List<T>) entries : new ArrayList<>(entries);
         if (fastEntryRendering) {
-            T firstWidget = Iterables.getFirst(entries, null);
-            if (firstWidget == null) return;
-            EntryRenderer<?> renderer = firstWidget.getCurrentEntry().getRenderer();
+            if (entryList.isEmpty()) return;
+            EntryRenderer<?> renderer = entryList.get(0).getCurrentEntry().getRenderer();
             if (renderer instanceof BatchedEntryRenderer) {
-                BatchedEntryRenderer<?, Object> firstRenderer = (BatchedEntryRenderer<?, Object>) renderer;
-                Object[] extraData = new Object[entries.size()];
-                int i = 0;
-                for (T entry : entries) {
+                List<Object> extraData = new ArrayList<>(entryList.size());
+                for (T entry : entryList) {
                     EntryStack<?> currentEntry = entry.getCurrentEntry();
-                    extraData[i++] = ((BatchedEntryRenderer<Object, Object>) currentEntry.getRenderer()).getExtraData(currentEntry.cast());
+                    extraData.add(entry.getExtraData((BatchedEntryRenderer<Object, Object>) currentEntry.getRenderer(), currentEntry.cast()));
                 }
-                renderBatched(debugTime, size, time, matrices, mouseX, mouseY, delta, entries, extraData);
+                renderBatched(debugTime, size, time, matrices, mouseX, mouseY, delta, entryList, extraData);
                 return;
             }
         }
-        renderSlow(debugTime, size, time, matrices, mouseX, mouseY, delta, entries);
+        renderSlow(debugTime, size, time, matrices, mouseX, mouseY, delta, entryList);
     }
     
-    private static <T extends EntryWidget> void renderBatched(boolean debugTime, MutableInt size, MutableLong time, PoseStack matrices, int mouseX, int mouseY, float delta, Iterable<T> entries, Object[] extraData) {
-        T firstWidget = Iterables.getFirst(entries, null);
-        if (firstWidget == null) return;
+    private static <T extends EntryWidget> void renderBatched(boolean debugTime, MutableInt size, MutableLong time, PoseStack matrices, int mouseX, int mouseY, float delta, List<T> entries, List<Object> extraData) {
+        if (entries.isEmpty()) return;
+        T firstWidget = entries.get(0);
         @SuppressWarnings("rawtypes")
         EntryStack first = firstWidget.getCurrentEntry();
         EntryRenderer<?> renderer = first.getRenderer();
@@ -156,8 +170,10 @@ public class BatchedEntryRendererManager {
         matrices = firstRenderer.batchModifyMatrices(matrices);
         long l = debugTime ? System.nanoTime() : 0;
         MultiBufferSource.BufferSource immediate = Minecraft.getInstance().renderBuffers().bufferSource();
-        int i = 0;
-        for (T entry : entries) {
+        int entriesSize = entries.size();
+        BATCHED_RENDERS.add(entriesSize);
+        for (int i = 0; i < entriesSize; i++) {
+            T entry = entries.get(i);
             try {
                 entry.drawBackground(matrices, mouseX, mouseY, delta);
             } catch (Throwable throwable) {
@@ -166,13 +182,14 @@ public class BatchedEntryRendererManager {
                 throw CrashReportUtils.throwReport(report);
             }
         }
-        firstRenderer.startBatch(first, extraData[0], matrices, delta);
-        for (T entry : entries) {
+        firstRenderer.startBatch(first, extraData.get(0), matrices, delta);
+        for (int i = 0; i < entriesSize; i++) {
+            T entry = entries.get(i);
             try {
                 @SuppressWarnings("rawtypes")
                 EntryStack currentEntry = entry.getCurrentEntry();
                 currentEntry.setZ(100);
-                firstRenderer.renderBase(currentEntry, extraData[i++], matrices, immediate, entry.getInnerBounds(), mouseX, mouseY, delta);
+                firstRenderer.renderBase(currentEntry, extraData.get(i), matrices, immediate, entry.getInnerBounds(), mouseX, mouseY, delta);
                 if (debugTime && !currentEntry.isEmpty()) size.increment();
             } catch (Throwable throwable) {
                 CrashReport report = CrashReportUtils.essential(throwable, "Rendering entry base");
@@ -181,13 +198,13 @@ public class BatchedEntryRendererManager {
             }
         }
         immediate.endBatch();
-        firstRenderer.afterBase(first, extraData[0], matrices, delta);
-        i = 0;
-        for (T entry : entries) {
+        firstRenderer.afterBase(first, extraData.get(0), matrices, delta);
+        for (int i = 0; i < entriesSize; i++) {
+            T entry = entries.get(i);
             try {
                 @SuppressWarnings("rawtypes")
                 EntryStack currentEntry = entry.getCurrentEntry();
-                firstRenderer.renderOverlay(currentEntry, extraData[i++], matrices, immediate, entry.getInnerBounds(), mouseX, mouseY, delta);
+                firstRenderer.renderOverlay(currentEntry, extraData.get(i), matrices, immediate, entry.getInnerBounds(), mouseX, mouseY, delta);
             } catch (Throwable throwable) {
                 CrashReport report = CrashReportUtils.essential(throwable, "Rendering entry base");
                 CrashReportUtils.renderer(report, entry);
@@ -195,7 +212,8 @@ public class BatchedEntryRendererManager {
             }
         }
         immediate.endBatch();
-        for (T entry : entries) {
+        for (int i = 0; i < entriesSize; i++) {
+            T entry = entries.get(i);
             try {
                 if (entry.containsMouse(mouseX, mouseY)) {
                     entry.queueTooltip(matrices, mouseX, mouseY, delta);
@@ -209,11 +227,13 @@ public class BatchedEntryRendererManager {
             }
         }
         if (debugTime) time.add(System.nanoTime() - l);
-        firstRenderer.endBatch(first, extraData[0], matrices, delta);
+        firstRenderer.endBatch(first, extraData.get(0), matrices, delta);
     }
     
-    private static <T extends EntryWidget> void renderSlow(boolean debugTime, MutableInt size, MutableLong time, PoseStack matrices, int mouseX, int mouseY, float delta, Iterable<T> entries) {
-        for (T entry : entries) {
+    private static <T extends EntryWidget> void renderSlow(boolean debugTime, MutableInt size, MutableLong time, PoseStack matrices, int mouseX, int mouseY, float delta, List<T> entries) {
+        SLOW_RENDERS.add(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            T entry = entries.get(i);
             if (entry.getCurrentEntry().isEmpty())
                 continue;
             try {
@@ -230,4 +250,14 @@ public class BatchedEntryRendererManager {
             }
         }
     }
+    
+    private static class Group {
+        private final List<EntryWidget> widgets = new ArrayList<>();
+        private final List<Object> extraData = new ArrayList<>();
+        
+        private void clear() {
+            widgets.clear();
+            extraData.clear();
+        }
+    }
 }
@@ -119,6 +119,10 @@ public class EntryListWidget extends WidgetWithBounds implements OverlayListWidg
     private List<Widget> renders = Collections.emptyList();
     private List<Widget> widgets = Collections.emptyList();
     private AsyncSearchManager searchManager = AsyncSearchManager.createDefault();
+    private final BatchedEntryRendererManager batchManager = new BatchedEntryRendererManager();
+    private boolean batchDirty = true;
+    private double lastScrollAmount;
+    private int lastExtraDataVersion;
     
     public static int entrySize() {
         return Mth.ceil(SIZE * ConfigObject.getInstance().getEntrySize());
@@ -252,32 +256,11 @@ public class EntryListWidget extends WidgetWithBounds implements OverlayListWidg
         if (ConfigObject.getInstance().isEntryListWidgetScrolled()) {
             ScissorsHandler.INSTANCE.scissor(bounds);
             
-            int skip = Math.max(0, Mth.floor(scrolling.scrollAmount / (float) entrySize()));
-            int nextIndex = skip * innerBounds.width / entrySize();
-            this.blockedCount = 0;
-            BatchedEntryRendererManager helper = new BatchedEntryRendererManager();
-            
-            int i = nextIndex;
-            for (int cont = nextIndex; cont < entries.size(); cont++) {
-                EntryListEntry entry = entries.get(cont);
-                Rectangle entryBounds = entry.getBounds();
-                
-                entryBounds.y = (int) (entry.backupY - scrolling.scrollAmount);
-                if (entryBounds.y > this.bounds.getMaxY()) break;
-                if (allStacks.size() <= i) break;
-                if (notSteppingOnExclusionZones(entryBounds.x, entryBounds.y, entryBounds.width, entryBounds.height, innerBounds)) {
-                    EntryStack<?> stack = allStacks.get(i++);
-                    entry.clearStacks();
-                    if (!stack.isEmpty()) {
-                        entry.entry(stack);
-                        helper.add(entry);
-                    }
-                } else {
-                    blockedCount++;
-                }
+            if (batchDirty || lastScrollAmount != scrolling.scrollAmount || lastExtraDataVersion != BatchedEntryRendererManager.getExtraDataVersion()) {
+                rebuildScrolledBatch();
             }
             
-            helper.render(debugTime, size, time, matrices, mouseX, mouseY, delta);
+            batchManager.render(debugTime, size, time, matrices, mouseX, mouseY, delta);
             
             updatePosition(delta);
             ScissorsHandler.INSTANCE.removeLastScissor();
@@ -288,7 +271,12 @@ public class EntryListWidget extends WidgetWithBounds implements OverlayListWidg
             for (Widget widget : renders) {
                 widget.render(matrices, mouseX, mouseY, delta);
             }
-            new BatchedEntryRendererManager(entries).render(debugTime, size, time, matrices, mouseX, mouseY, delta);
+            if (batchDirty || lastExtraDataVersion != BatchedEntryRendererManager.getExtraDataVersion()) {
+                batchManager.reset();
+                batchManager.addAll(entries);
+                markBatchBuilt();
+            }
+            batchManager.render(debugTime, size, time, matrices, mouseX, mouseY, delta);
         }
         
         if (debugTime) {
@@ -340,6 +328,45 @@ public class EntryListWidget extends WidgetWithBounds implements OverlayListWidg
         }
     }
     
+    /**
+     * Rebuilds the retained batches of the visible entries, only called when the scroll offset,
+     * the layout or the search results have changed.
+     */
+    private void rebuildScrolledBatch() {
+        int skip = Math.max(0, Mth.floor(scrolling.scrollAmount / (float) entrySize()));
+        int nextIndex = skip * innerBounds.width / entrySize();
+        this.blockedCount = 0;
+        batchManager.reset();
+        
+        int i = nextIndex;
+        for (int cont = nextIndex; cont < entries.size(); cont++) {
+            EntryListEntry entry = entries.get(cont);
+            Rectangle entryBounds = entry.getBounds();
+            
+            entryBounds.y = (int) (entry.backupY - scrolling.scrollAmount);
+            if (entryBounds.y > this.bounds.getMaxY()) break;
+            if (allStacks.size() <= i) break;
+            if (notSteppingOnExclusionZones(entryBounds.x, entryBounds.y, entryBounds.width, entryBounds.height, innerBounds)) {
+                EntryStack<?> stack = allStacks.get(i++);
+                entry.clearStacks();
+                if (!stack.isEmpty()) {
+                    entry.entry(stack);
+                    batchManager.add(entry);
+                }
+            } else {
+                blockedCount++;
+            }
+        }
+        
+        this.lastScrollAmount = scrolling.scrollAmount;
+        markBatchBuilt();
+    }
+    
+    private void markBatchBuilt() {
+        this.batchDirty = false;
+        this.lastExtraDataVersion = BatchedEntryRendererManager.getExtraDataVersion();
+    }
+    
     private int getScrollbarMinX() {
         if (ConfigObject.getInstance().isLeftHandSidePanel())
             return bounds.x + 1;
@@ -387,6 +414,7 @@ public class EntryListWidget extends WidgetWithBounds implements OverlayListWidg
     }
     
     public void updateEntriesPosition() {
+        this.batchDirty = true;
         int entrySize = entrySize();
         this.innerBounds = updateInnerBounds(bounds);
         if (!ConfigObject.getInstance().isEntryListWidgetScrolled()) {
@@ -28,6 +28,7 @@ import com.google.common.collect.Lists;
 import com.mojang.blaze3d.vertex.PoseStack;
 import it.unimi.dsi.fastutil.ints.*;
 import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import me.shedaniel.clothconfig2.ClothConfigInitializer;
 import me.shedaniel.clothconfig2.api.ScissorsHandler;
 import me.shedaniel.clothconfig2.api.ScrollingContainer;
@@ -51,14 +52,10 @@ import me.shedaniel.rei.impl.client.gui.widget.region.RegionEntryListEntry;
 import me.shedaniel.rei.impl.client.gui.widget.region.RegionListener;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.util.Mth;
-import net.minecraft.util.Tuple;
 import net.minecraft.util.Unit;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -93,7 +90,25 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     private final Int2ObjectMap<RealRegionEntry<T>> entries = new Int2ObjectLinkedOpenHashMap<>();
     private final Int2ObjectMap<RealRegionEntry<T>> removedEntries = new Int2ObjectLinkedOpenHashMap<>();
     private List<RegionEntryListEntry<T>> entriesList = Lists.newArrayList();
+    private List<RealRegionEntry<T>> orderedEntries = Lists.newArrayList();
     private List<Widget> children = Lists.newArrayList();
+    private final BatchedEntryRendererManager batchManager = new BatchedEntryRendererManager();
+    /**
+     * The grid cell of each free slot, entries are laid out in these slots in order, followed by a spare slot to drop into.
+     */
+    private int[] slotCells = new int[0];
+    /**
+     * The first slot of each row, with an extra element marking the end of the last row.
+     */
+    private int[] rowStarts = new int[1];
+    private int columns = 1;
+    private boolean slotsDirty = true;
+    private final Rectangle slotsBounds = new Rectangle();
+    private int slotsEntrySize = -1;
+    private int slotsScroll;
+    private int appliedReleaseIndex = -2;
+    private final Set<RealRegionEntry<T>> movingEntries = new ReferenceOpenHashSet<>();
+    private final List<RegionEntryListEntry<T>> visibleWidgets = Lists.newArrayList();
     
     public EntryStacksRegionWidget(RegionListener<T> listener) {
         this.listener = listener;
@@ -109,10 +124,42 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
         if (bounds.isEmpty()) return;
         
         int entrySize = entrySize();
-        boolean fastEntryRendering = ConfigObject.getInstance().doesFastEntryRendering();
-        updateEntriesPosition(entry -> true);
-        for (RealRegionEntry<T> entry : entries.values()) {
+        if (updateSlots()) {
+            applyLayout(entry -> true);
+        } else {
+            int releaseIndex = getReleaseIndex(null);
+            if (releaseIndex != appliedReleaseIndex) {
+                applyLayout(entry -> true);
+            }
+        }
+        
+        visibleWidgets.clear();
+        int scroll = (int) scrolling.scrollAmount;
+        int rowCount = rowStarts.length - 1;
+        int firstRow = Mth.clamp(Math.floorDiv(bounds.y + scroll - innerBounds.y, entrySize) - 1, 0, rowCount);
+        int lastRow = Mth.clamp(Math.floorDiv(bounds.getMaxY() + scroll - innerBounds.y, entrySize) + 1, 0, rowCount - 1);
+        if (firstRow <= lastRow) {
+            for (int slot = rowStarts[firstRow]; slot < rowStarts[lastRow + 1]; slot++) {
+                RealRegionEntry<T> entry = getEntryAtSlot(slot);
+                if (entry != null && !movingEntries.contains(entry)) {
+                    entry.update(delta);
+                    addIfVisible(entry);
+                }
+            }
+        }
+        Iterator<RealRegionEntry<T>> movingIterator = movingEntries.iterator();
+        while (movingIterator.hasNext()) {
+            RealRegionEntry<T> entry = movingIterator.next();
+            if (removedEntries.get(entry.hashIgnoreAmount()) == entry) {
+                // removed entries are animated below
+                movingIterator.remove();
+                continue;
+            }
             entry.update(delta);
+            addIfVisible(entry);
+            if (entry.size.doubleValue() == entry.size.target() && entry.pos.value().equals(entry.pos.target())) {
+                movingIterator.remove();
+            }
         }
         ObjectIterator<RealRegionEntry<T>> removedEntriesIterator = removedEntries.values().iterator();
         while (removedEntriesIterator.hasNext()) {
@@ -123,22 +170,41 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
                 removedEntriesIterator.remove();
                 this.entriesList.remove(removedEntry.getWidget());
                 this.children.remove(removedEntry.getWidget());
+            } else {
+                addIfVisible(removedEntry);
             }
         }
         
         ScissorsHandler.INSTANCE.scissor(bounds);
         
-        Stream<RegionEntryListEntry<T>> entryStream = this.entriesList.stream()
-                .filter(entry -> entry.getBounds().getMaxY() >= this.bounds.getY() && entry.getBounds().y <= this.bounds.getMaxY());
-        
-        new BatchedEntryRendererManager(entryStream.collect(Collectors.toList()))
-                .render(poses, mouseX, mouseY, delta);
+        batchManager.reset();
+        for (RegionEntryListEntry<T> widget : visibleWidgets) {
+            batchManager.add(widget);
+        }
+        batchManager.render(poses, mouseX, mouseY, delta);
         
         updatePosition(delta);
         scrolling.renderScrollBar(0, 1, REIRuntime.getInstance().isDarkThemeEnabled() ? 0.8f : 1f);
         ScissorsHandler.INSTANCE.removeLastScissor();
     }
     
+    private void addIfVisible(RealRegionEntry<T> entry) {
+        Rectangle entryBounds = entry.getWidget().getBounds();
+        if (entryBounds.getMaxY() >= this.bounds.getY() && entryBounds.y <= this.bounds.getMaxY()) {
+            visibleWidgets.add(entry.getWidget());
+        }
+    }
+    
+    @Nullable
+    private RealRegionEntry<T> getEntryAtSlot(int slot) {
+        int index = slot;
+        if (appliedReleaseIndex >= 0 && slot >= appliedReleaseIndex) {
+            if (slot == appliedReleaseIndex) return null;
+            index--;
+        }
+        return index < orderedEntries.size() ? orderedEntries.get(index) : null;
+    }
+    
     @Override
     public List<Widget> children() {
         return children;
@@ -192,8 +258,9 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     @Nullable
     public DraggableStack getHoveredStack(DraggingContext<Screen> context, double mouseX, double mouseY) {
         if (innerBounds.contains(mouseX, mouseY)) {
-            for (RealRegionEntry<T> entry : entries.values()) {
-                if (entry.getWidget().containsMouse(mouseX, mouseY) && listener.canBeDragged(entry)) {
+            for (RegionEntryListEntry<T> widget : visibleWidgets) {
+                RealRegionEntry<T> entry = widget.getEntry();
+                if (!entry.isHidden() && widget.containsMouse(mouseX, mouseY) && listener.canBeDragged(entry)) {
                     return new RegionDraggableStack<>(entry, null);
                 }
             }
@@ -204,9 +271,9 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     public EntryStack<?> getFocusedStack() {
         Point mouse = PointHelper.ofMouse();
         if (innerBounds.contains(mouse)) {
-            for (RealRegionEntry<T> entry : entries.values()) {
-                if (entry.getWidget().containsMouse(mouse)) {
-                    return entry.getWidget().getCurrentEntry().copy();
+            for (RegionEntryListEntry<T> widget : visibleWidgets) {
+                if (!widget.getEntry().isHidden() && widget.containsMouse(mouse)) {
+                    return widget.getCurrentEntry().copy();
                 }
             }
         }
@@ -214,8 +281,7 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     }
     
     public Stream<EntryStack<?>> getEntries() {
-        return (Stream<EntryStack<?>>) (Stream<? extends EntryStack<?>>) entriesList.stream()
-                .filter(entry -> entry.getBounds().getMaxY() >= this.bounds.getY() && entry.getBounds().y <= this.bounds.getMaxY())
+        return (Stream<EntryStack<?>>) (Stream<? extends EntryStack<?>>) visibleWidgets.stream()
                 .map(EntryWidget::getCurrentEntry)
                 .filter(entry -> !entry.isEmpty());
     }
@@ -304,6 +370,8 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     }
     
     public void applyNewEntriesList() {
+        this.orderedEntries = new ArrayList<>(entries.values());
+        this.slotsDirty = true;
         this.entriesList = Stream.concat(entries.values().stream().map(RealRegionEntry::getWidget), removedEntries.values().stream().map(RealRegionEntry::getWidget)).collect(Collectors.toList());
         this.children = Stream.<Stream<Widget>>of(
                 entries.values().stream().map(RealRegionEntry::getWidget),
@@ -312,37 +380,83 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
     }
     
     public void updateEntriesPosition(Predicate<RealRegionEntry<T>> animated) {
+        this.slotsDirty = true;
+        updateSlots();
+        applyLayout(animated);
+    }
+    
+    /**
+     * Recomputes the free slots of the grid if the entries, the bounds, the entry size or the scroll amount changed.
+     * <p>
+     * Only cells that are on screen are checked against the exclusion zones, cells that are scrolled away can't be covered.
+     *
+     * @return whether the slots were recomputed
+     */
+    private boolean updateSlots() {
         int entrySize = entrySize();
-        this.blockedCount = 0;
+        int scroll = (int) scrolling.scrollAmount;
+        if (!slotsDirty && innerBounds != null && slotsEntrySize == entrySize && slotsScroll == scroll && slotsBounds.equals(bounds)) {
+            return false;
+        }
+        this.slotsDirty = false;
+        this.slotsEntrySize = entrySize;
+        this.slotsScroll = scroll;
+        this.slotsBounds.setBounds(bounds);
         this.innerBounds = updateInnerBounds(bounds);
-        int width = innerBounds.width / entrySize;
-        int currentX = 0;
-        int currentY = 0;
+        this.columns = Math.max(innerBounds.width / entrySize, 1);
+        this.blockedCount = 0;
+        int size = orderedEntries.size();
+        if (slotCells.length < size + 1) {
+            slotCells = new int[size + 1];
+        }
+        
+        for (int slot = 0, cell = 0; slot <= size; cell++) {
+            int xPos = (cell % columns) * entrySize + innerBounds.x;
+            int yPos = (cell / columns) * entrySize + innerBounds.y - scroll;
+            boolean onScreen = yPos + entrySize > bounds.y && yPos < bounds.getMaxY();
+            
+            if (!onScreen || notSteppingOnExclusionZones(xPos, yPos, entrySize, entrySize, innerBounds)) {
+                slotCells[slot++] = cell;
+            } else if (slot < size) {
+                blockedCount++;
+            }
+        }
+        
+        int rowCount = slotCells[size] / columns + 1;
+        if (rowStarts.length != rowCount + 1) {
+            rowStarts = new int[rowCount + 1];
+        }
+        for (int row = 0, slot = 0; row <= rowCount; row++) {
+            while (slot <= size && slotCells[slot] / columns < row) {
+                slot++;
+            }
+            rowStarts[row] = slot;
+        }
+        return true;
+    }
+    
+    /**
+     * Moves every entry to its slot, leaving the slot of the dragged stack empty.
+     * Widgets are hidden until they are updated again by {@link #render}, so that stale bounds are never hovered.
+     */
+    private void applyLayout(Predicate<RealRegionEntry<T>> animated) {
+        int entrySize = entrySize();
         int releaseIndex = getReleaseIndex(null);
+        this.appliedReleaseIndex = releaseIndex;
         
-        int slotIndex = 0;
-        for (RealRegionEntry<T> entry : this.entries.values()) {
-            while (true) {
-                int xPos = currentX * entrySize + innerBounds.x;
-                int yPos = currentY * entrySize + innerBounds.y;
-                
-                currentX++;
-                if (currentX >= width) {
-                    currentX = 0;
-                    currentY++;
-                }
-                
-                if (notSteppingOnExclusionZones(xPos, yPos - (int) scrolling.scrollAmount, entrySize, entrySize, innerBounds)) {
-                    if (slotIndex++ == releaseIndex) {
-                        continue;
-                    }
-                    
-                    entry.moveTo(animated.test(entry), xPos, yPos);
-                    break;
-                } else {
-                    blockedCount++;
-                }
+        for (int i = 0; i < orderedEntries.size(); i++) {
+            RealRegionEntry<T> entry = orderedEntries.get(i);
+            int cell = slotCells[releaseIndex >= 0 && i >= releaseIndex ? i + 1 : i];
+            int xPos = (cell % columns) * entrySize + innerBounds.x;
+            int yPos = (cell / columns) * entrySize + innerBounds.y;
+            FloatingPoint target = entry.pos.target();
+            
+            if (target.x != xPos || target.y != yPos) {
+                entry.moveTo(animated.test(entry), xPos, yPos);
+                movingEntries.add(entry);
             }
+            
+            entry.getWidget().getBounds().setSize(0, 0);
         }
     }
     
@@ -350,59 +464,28 @@ public class EntryStacksRegionWidget<T extends RegionEntry<T>> extends WidgetWit
         DraggingContext<?> context = DraggingContext.getInstance();
         if (position == null) position = context.getCurrentPosition();
         if (context.isDraggingStack() && bounds.contains(position) && checkDraggedStacks(context.cast(), context.getCurrentStack()).isPresent()) {
+            updateSlots();
             int entrySize = entrySize();
-            int width = innerBounds.width / entrySize;
-            int currentX = 0;
-            int currentY = 0;
-            List<Tuple<RealRegionEntry<T>, Point>> entriesPoints = Lists.newArrayList();
-            for (RealRegionEntry<T> entry : this.entries.values()) {
-                while (true) {
-                    int xPos = currentX * entrySize + innerBounds.x;
-                    int yPos = currentY * entrySize + innerBounds.y;
-                    
-                    currentX++;
-                    if (currentX >= width) {
-                        currentX = 0;
-                        currentY++;
-                    }
-                    
-                    if (notSteppingOnExclusionZones(xPos, yPos - (int) scrolling.scrollAmount, entrySize, entrySize, innerBounds)) {
-                        entriesPoints.add(new Tuple<>(entry, new Point(xPos, yPos)));
-                        break;
-                    } else {
-                        blockedCount++;
-                    }
-                }
-            }
-            
-            int maxSize = entriesPoints.size();
-            if (currentX != 0) {
-                int xPos = currentX * entrySize + innerBounds.x;
-                int yPos = currentY * entrySize + innerBounds.y;
-                
-                if (notSteppingOnExclusionZones(xPos, yPos - (int) scrolling.scrollAmount, entrySize, entrySize, innerBounds)) {
-                    entriesPoints.add(new Tuple<>(null, new Point(xPos, yPos)));
-                }
-            }
+            int size = orderedEntries.size();
+            // the spare slot can only be dropped into if it directly follows the last entry in the same row
+            int slotsCount = size > 0 && slotCells[size] == slotCells[size - 1] + 1 && slotCells[size] % columns != 0 ? size + 1 : size;
             
             double x = position.x - 8;
             double y = position.y + scrolling.scrollAmount - 8;
+            int row = Mth.floor((y + entrySize / 2 - innerBounds.y) / entrySize);
+            if (row < 0 || row >= rowStarts.length - 1) return size;
+            
+            int closestSlot = -1;
+            double closestDistance = 0;
+            for (int slot = rowStarts[row]; slot < rowStarts[row + 1] && slot < slotsCount; slot++) {
+                double distance = Math.abs(x - ((slotCells[slot] % columns) * entrySize + innerBounds.x));
+                if (closestSlot == -1 || distance < closestDistance) {
+                    closestSlot = slot;
+                    closestDistance = distance;
+                }
+            }
             
-            return Mth.clamp(entriesPoints.stream()
-                            .filter(value -> {
-                                double otherY = value.getB().y;
-                                
-                                return otherY <= y + entrySize / 2 && otherY + entrySize > y + entrySize / 2;
-                            })
-                            .min(Comparator.comparingDouble(value -> {
-                                double otherX = value.getB().x;
-                                double otherY = value.getB().y;
-                                
-                                return (x - otherX) * (x - otherX) + (y - otherY) * (y - otherY);
-                            }))
-                            .map(entriesPoints::indexOf)
-                            .orElse(maxSize),
-                    0, entriesPoints.size());
+            return closestSlot == -1 ? size : closestSlot;
         }
         
         return -2;
@@ -33,6 +33,7 @@ import me.shedaniel.math.impl.PointHelper;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.entry.renderer.BatchedEntryRenderer;
 import me.shedaniel.rei.api.client.favorites.FavoriteEntry;
 import me.shedaniel.rei.api.client.gui.drag.DraggableStack;
 import me.shedaniel.rei.api.client.gui.drag.DraggableStackProviderWidget;
@@ -82,6 +83,13 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
     private List<EntryStack<?>> entryStacks;
     public ResourceLocation tagMatch;
     public boolean removeTagMatch = true;
+    @Nullable
+    private EntryStack<?> extraDataEntry;
+    @Nullable
+    private BatchedEntryRenderer<?, ?> extraDataRenderer;
+    @Nullable
+    private Object extraData;
+    private int extraDataVersion = -1;
     
     public EntryWidget(Point point) {
         this(new Rectangle(point.x - 1, point.y - 1, 18, 18));
@@ -267,6 +275,22 @@ public class EntryWidget extends Slot implements DraggableStackProviderWidget {
         return entryStacks;
     }
     
+    /**
+     * Returns the extra data of the batched renderer for the given entry, cached until
+     * the entry or its renderer changes, or resources are reloaded.
+     */
+    @ApiStatus.Internal
+    public Object getExtraData(BatchedEntryRenderer<Object, Object> renderer, EntryStack<Object> entry) {
+        int version = BatchedEntryRendererManager.getExtraDataVersion();
+        if (extraDataEntry != entry || extraDataRenderer != renderer || extraDataVersion != version) {
+            this.extraData = renderer.getExtraData(entry);
+            this.extraDataEntry = entry;
+            this.extraDataRenderer = renderer;
+            this.extraDataVersion = version;
+        }
+        return extraData;
+    }
+    
     @Override
     public Rectangle getBounds() {
         return bounds;
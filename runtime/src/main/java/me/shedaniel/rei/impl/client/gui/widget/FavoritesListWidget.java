@@ -714,8 +714,8 @@ public class FavoritesListWidget extends WidgetWithBounds implements DraggableSt
                     this.size.update(delta);
                     this.getBounds().width = this.getBounds().height = (int) Math.round(this.size.doubleValue() / 100);
                     double offsetSize = (entrySize() - this.size.doubleValue() / 100) / 2;
-                    this.getBounds().x = (int) Math.round(pos.value().x + offsetSize);
-                    this.getBounds().y = (int) Math.round(pos.value().y + offsetSize) + lastY;
+                    this.getBounds().x = (int) Math.round(pos.sharedValue().x + offsetSize);
+                    this.getBounds().y = (int) Math.round(pos.sharedValue().y + offsetSize) + lastY;
                 }
                 
                 @Override
@@ -28,6 +28,7 @@ import com.mojang.blaze3d.vertex.PoseStack;
 import me.shedaniel.math.Point;
 import me.shedaniel.math.Rectangle;
 import me.shedaniel.math.impl.PointHelper;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.REIRuntime;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.gui.DrawableConsumer;
@@ -41,6 +42,7 @@ import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.impl.ClientInternals;
 import me.shedaniel.rei.impl.client.gui.toast.CopyRecipeIdentifierToast;
 import me.shedaniel.rei.impl.client.gui.widget.basewidgets.*;
+import me.shedaniel.rei.impl.common.logging.performance.LatencyHistogram;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.minecraft.ChatFormatting;
@@ -58,11 +60,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public final class InternalWidgets {
+    private static final LatencyHistogram TRANSFER_CHECK_TIME = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.histogram("Transfer Check");
+    private static final LongAdder TRANSFER_EVALUATIONS = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Transfer Handler Evaluations");
+    
     private InternalWidgets() {}
     
     public static Widget createAutoCraftingButtonWidget(Rectangle displayBounds, Rectangle rectangle, Component text, Supplier<Display> displaySupplier, Supplier<Collection<ResourceLocation>> idsSupplier, List<Widget> setupDisplay, DisplayCategory<?> category) {
@@ -74,6 +80,7 @@ public final class InternalWidgets {
                     TransferHandler.Context context = TransferHandler.Context.create(true, containerScreen, displaySupplier.get());
                     for (TransferHandler autoTransferHandler : TransferHandlerRegistry.getInstance())
                         try {
+                            TRANSFER_EVALUATIONS.increment();
                             TransferHandler.Result result = autoTransferHandler.handle(context);
                             if (result.isBlocking()) {
                                 if (result.isReturningToScreen()) {
@@ -119,12 +126,14 @@ public final class InternalWidgets {
                     return;
                 }
                 
+                long start = System.nanoTime();
                 List<TransferHandler.Result> errors = new ArrayList<>();
                 boolean hasApplicable = false;
                 TransferHandlerErrorRenderer errorRenderer = null;
                 TransferHandler.Context context = TransferHandler.Context.create(false, containerScreen, displaySupplier.get());
                 for (TransferHandler transferHandler : TransferHandlerRegistry.getInstance()) {
                     try {
+                        TRANSFER_EVALUATIONS.increment();
                         TransferHandler.Result result = transferHandler.handle(context);
                         if (result.isApplicable()) {
                             hasApplicable = true;
@@ -151,6 +160,7 @@ public final class InternalWidgets {
                         e.printStackTrace();
                     }
                 }
+                TRANSFER_CHECK_TIME.recordSince(start);
                 
                 if (!hasApplicable) {
                     errorTooltip.setValue(Lists.newArrayList(new TranslatableComponent("error.rei.not.supported.move.items").withStyle(ChatFormatting.RED)));
@@ -59,8 +59,8 @@ public class RealRegionEntry<T extends RegionEntry<T>> {
         this.size.update(delta);
         this.getWidget().getBounds().width = this.getWidget().getBounds().height = (int) Math.round(this.size.doubleValue() / 100);
         double offsetSize = (entrySize() - this.size.doubleValue() / 100) / 2;
-        this.getWidget().getBounds().x = (int) Math.round(pos.value().x + offsetSize);
-        this.getWidget().getBounds().y = (int) Math.round(pos.value().y + offsetSize) - (int) region.getScrollAmount();
+        this.getWidget().getBounds().x = (int) Math.round(pos.sharedValue().x + offsetSize);
+        this.getWidget().getBounds().y = (int) Math.round(pos.sharedValue().y + offsetSize) - (int) region.getScrollAmount();
     }
     
     public RegionEntryListEntry<T> getWidget() {
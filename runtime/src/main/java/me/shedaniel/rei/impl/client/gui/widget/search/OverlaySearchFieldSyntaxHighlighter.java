@@ -23,12 +23,9 @@
 
 package me.shedaniel.rei.impl.client.gui.widget.search;
 
-import me.shedaniel.rei.impl.client.search.IntRange;
-import me.shedaniel.rei.impl.client.search.argument.Argument;
-import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
+import me.shedaniel.rei.impl.client.search.argument.ParsedQuery;
 import org.jetbrains.annotations.ApiStatus;
 
-import java.util.Collection;
 import java.util.function.Consumer;
 
 @ApiStatus.Internal
@@ -43,32 +40,6 @@ public class OverlaySearchFieldSyntaxHighlighter implements Consumer<String> {
     
     @Override
     public void accept(String text) {
-        this.highlighted = new byte[text.length()];
-        Argument.bakeArguments(text, new Argument.ProcessedSink() {
-            @Override
-            public void addQuote(int index) {
-                highlighted[index] = -2;
-            }
-            
-            @Override
-            public void addSplitter(int index) {
-                highlighted[index] = -1;
-            }
-            
-            @Override
-            public void addPart(Argument<?, ?> argument, boolean usingGrammar, Collection<IntRange> grammarRanges, int index) {
-                if (usingGrammar) {
-                    int argIndex = ArgumentTypesRegistry.ARGUMENT_TYPE_LIST.indexOf(argument.getArgument()) * 2 + 1;
-                    for (int i = argument.start(); i < argument.end(); i++) {
-                        highlighted[i] = (byte) argIndex;
-                    }
-                    for (IntRange grammarRange : grammarRanges) {
-                        for (int i = grammarRange.min(); i <= grammarRange.max(); i++) {
-                            highlighted[i + index] = (byte) (argIndex + 1);
-                        }
-                    }
-                }
-            }
-        });
+        this.highlighted = ParsedQuery.parse(text).getHighlighted();
     }
 }
@@ -24,7 +24,10 @@
 package me.shedaniel.rei.impl.client.registry.display;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import dev.architectury.event.EventResult;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.plugins.REIClientPlugin;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
@@ -34,15 +37,21 @@ import me.shedaniel.rei.api.client.registry.display.DynamicDisplayGenerator;
 import me.shedaniel.rei.api.client.registry.display.reason.DisplayAdditionReason;
 import me.shedaniel.rei.api.client.registry.display.reason.DisplayAdditionReasons;
 import me.shedaniel.rei.api.client.registry.display.visibility.DisplayVisibilityPredicate;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.entry.EntryIngredient;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
+import me.shedaniel.rei.impl.common.plugins.ReloadToken;
 import me.shedaniel.rei.impl.common.registry.RecipeManagerContextImpl;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.crafting.Recipe;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -55,6 +64,9 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     private final List<DisplayVisibilityPredicate> visibilityPredicates = new ArrayList<>();
     private final List<DisplayFiller<?>> fillers = new ArrayList<>();
     private final MutableInt displayCount = new MutableInt(0);
+    private final AtomicInteger version = new AtomicInteger();
+    private volatile Map<CategoryIdentifier<?>, CategoryVisibility> visibility = new ConcurrentHashMap<>();
+    private final Runnable visibilityInvalidator = this::invalidateDisplayVisibility;
     
     public DisplayRegistryImpl() {
         super(RecipeManagerContextImpl.supplier());
@@ -75,6 +87,7 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         displays.computeIfAbsent(display.getCategoryIdentifier(), location -> new ArrayList<>())
                 .add(display);
         displayCount.increment();
+        version.incrementAndGet();
         if (origin != null) {
             synchronized (displaysBase) {
                 displaysBase.put(display, origin);
@@ -112,10 +125,41 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
     public void registerVisibilityPredicate(DisplayVisibilityPredicate predicate) {
         visibilityPredicates.add(predicate);
         visibilityPredicates.sort(Comparator.reverseOrder());
+        invalidateDisplayVisibility();
     }
     
     @Override
     public boolean isDisplayVisible(Display display) {
+        Map<CategoryIdentifier<?>, CategoryVisibility> visibility = this.visibility;
+        CategoryIdentifier<?> categoryId = display.getCategoryIdentifier();
+        CategoryVisibility categoryVisibility = visibility.get(categoryId);
+        if (categoryVisibility == null) {
+            List<Display> displays = this.displays.get(categoryId);
+            if (displays == null) return testVisibility(display);
+            categoryVisibility = computeVisibility(displays);
+            CategoryVisibility existing = visibility.putIfAbsent(categoryId, categoryVisibility);
+            if (existing != null) categoryVisibility = existing;
+        }
+        int index = categoryVisibility.indices().getInt(display);
+        // displays added after the evaluation, and dynamically generated displays are not part of the bitmap
+        return index >= 0 ? categoryVisibility.visible().get(index) : testVisibility(display);
+    }
+    
+    private CategoryVisibility computeVisibility(List<Display> displays) {
+        Display[] snapshot = displays.toArray(new Display[0]);
+        Reference2IntMap<Display> indices = new Reference2IntOpenHashMap<>(snapshot.length);
+        indices.defaultReturnValue(-1);
+        BitSet visible = new BitSet(snapshot.length);
+        for (int i = 0; i < snapshot.length; i++) {
+            indices.put(snapshot[i], i);
+            if (testVisibility(snapshot[i])) {
+                visible.set(i);
+            }
+        }
+        return new CategoryVisibility(indices, visible);
+    }
+    
+    private boolean testVisibility(Display display) {
         DisplayCategory<Display> category = (DisplayCategory<Display>) CategoryRegistry.getInstance().get(display.getCategoryIdentifier()).getCategory();
         Preconditions.checkNotNull(category, "Failed to resolve category: " + display.getCategoryIdentifier());
         for (DisplayVisibilityPredicate predicate : visibilityPredicates) {
@@ -132,6 +176,20 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         return true;
     }
     
+    @Override
+    public void invalidateDisplayVisibility() {
+        this.visibility = new ConcurrentHashMap<>();
+        version.incrementAndGet();
+    }
+    
+    /**
+     * Returns the version of the registry, which changes whenever a display or a visibility predicate is added,
+     * or the registry is reloaded.
+     */
+    public int getVersion() {
+        return version.get();
+    }
+    
     @Override
     public List<DisplayVisibilityPredicate> getVisibilityPredicates() {
         return Collections.unmodifiableList(visibilityPredicates);
@@ -160,17 +218,54 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         this.visibilityPredicates.clear();
         this.fillers.clear();
         this.displayCount.setValue(0);
+        invalidateDisplayVisibility();
     }
     
     @Override
     public void endReload() {
+        ReloadToken token = ReloadToken.current();
         if (!fillers.isEmpty()) {
             List<Recipe<?>> allSortedRecipes = getAllSortedRecipes();
             for (int i = allSortedRecipes.size() - 1; i >= 0; i--) {
+                token.check();
                 Recipe<?> recipe = allSortedRecipes.get(i);
                 addWithReason(recipe, DisplayAdditionReason.RECIPE_MANAGER);
             }
         }
+        
+        precomputeFuzzyHashes(token);
+        
+        // visibility predicates may depend on the filtered entries, the listener is kept by partial reloads of the displays
+        List<Runnable> refilterListener = ((EntryRegistryImpl) EntryRegistry.getInstance()).refilterListener;
+        if (!refilterListener.contains(visibilityInvalidator)) {
+            refilterListener.add(visibilityInvalidator);
+        }
+        invalidateDisplayVisibility();
+    }
+    
+    /**
+     * Computes the {@link EntryIngredient#getFuzzyHashes() fuzzy hashes} of the ingredients of every display in parallel,
+     * so that recipe lookups and craftable checks do not have to compute them on the client thread.
+     */
+    private void precomputeFuzzyHashes(ReloadToken token) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        displays.values().parallelStream().flatMap(List::stream).forEach(display -> {
+            if (token.isCancelled()) return;
+            try {
+                for (EntryIngredient ingredient : display.getInputEntries()) {
+                    ingredient.getFuzzyHashes();
+                }
+                for (EntryIngredient ingredient : display.getOutputEntries()) {
+                    ingredient.getFuzzyHashes();
+                }
+            } catch (Throwable throwable) {
+                // the hashes are computed on demand instead
+                RoughlyEnoughItemsCore.LOGGER.debug(String.format("Failed to compute fuzzy hashes of display [%s] in category [%s].",
+                        display.getDisplayLocation().map(ResourceLocation::toString).orElse("unknown"), display.getCategoryIdentifier()), throwable);
+            }
+        });
+        token.check();
+        RoughlyEnoughItemsCore.LOGGER.debug("Computed fuzzy hashes of %d displays in %s.", displaySize(), stopwatch.stop().toString());
     }
     
     @Override
@@ -212,6 +307,14 @@ public class DisplayRegistryImpl extends RecipeManagerContextImpl<REIClientPlugi
         return displaysBase.get(display);
     }
     
+    /**
+     * The visibility of the displays of a category, evaluated once, indexed by the position of the display in the category.
+     */
+    private static record CategoryVisibility(
+            Reference2IntMap<Display> indices,
+            BitSet visible
+    ) {}
+    
     private static record DisplayFiller<D extends Display>(
             BiPredicate<Object, DisplayAdditionReasons> predicate,
             
@@ -26,6 +26,7 @@ package me.shedaniel.rei.impl.client.search;
 import com.google.common.collect.Lists;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.config.ConfigManager;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
@@ -35,6 +36,9 @@ import me.shedaniel.rei.api.client.view.Views;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.search.argument.Argument;
+import me.shedaniel.rei.impl.client.search.argument.CompiledArgumentFilter;
+import me.shedaniel.rei.impl.common.logging.performance.LatencyHistogram;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -42,11 +46,17 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 public class AsyncSearchManager {
+    private static final LatencyHistogram SEARCH_TIME = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.histogram("Search");
+    private static final LongAdder SEARCH_TESTED = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Search Entries Tested");
+    private static final LongAdder SEARCH_MATCHES = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Search Matches");
+    private static final LongAdder SEARCH_CACHE_HITS = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Search Cache Hits");
+    private static final LongAdder SEARCH_CACHE_MISSES = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Search Cache Misses");
     private final Supplier<List<EntryStack<?>>> stacksProvider;
     private final Supplier<Predicate<EntryStack<?>>> additionalPredicateSupplier;
     private final UnaryOperator<EntryStack<?>> transformer;
@@ -91,6 +101,8 @@ public class AsyncSearchManager {
     
     public List<EntryStack<?>> get() {
         if (isDirty()) {
+            long start = System.nanoTime();
+            Argument.checkLanguage();
             this.additionalPredicate = additionalPredicateSupplier.get();
             int searchPartitionSize = ConfigObject.getInstance().getAsyncSearchPartitionSize();
             List<EntryStack<?>> stacks = stacksProvider.get();
@@ -101,12 +113,15 @@ public class AsyncSearchManager {
                     List<CompletableFuture<List<EntryStack<?>>>> futures = Lists.newArrayList();
                     for (Iterable<EntryStack<?>> partitionStacks : CollectionUtils.partition(stacks, searchPartitionSize)) {
                         futures.add(CompletableFuture.supplyAsync(() -> {
+                            int cacheHits = CompiledArgumentFilter.getCacheHits();
+                            int cacheMisses = CompiledArgumentFilter.getCacheMisses();
                             List<EntryStack<?>> filtered = Lists.newArrayList();
                             for (EntryStack<?> stack : partitionStacks) {
                                 if (stack != null && matches(stack) && additionalPredicate.test(stack)) {
                                     filtered.add(transformer.apply(stack));
                                 }
                             }
+                            recordCacheUse(cacheHits, cacheMisses);
                             return filtered;
                         }));
                     }
@@ -120,20 +135,35 @@ public class AsyncSearchManager {
                         if (now != null) last.addAll(now);
                     }
                 } else {
+                    int cacheHits = CompiledArgumentFilter.getCacheHits();
+                    int cacheMisses = CompiledArgumentFilter.getCacheMisses();
                     for (EntryStack<?> stack : stacks) {
                         if (matches(stack) && additionalPredicate.test(stack)) {
                             last.add(transformer.apply(stack));
                         }
                     }
+                    recordCacheUse(cacheHits, cacheMisses);
                 }
             }
             
             dirty = false;
+            SEARCH_TIME.recordSince(start);
+            SEARCH_TESTED.add(stacks.size());
+            SEARCH_MATCHES.add(last.size());
         }
         
         return last;
     }
     
+    /**
+     * Records the search cache use of the entries tested on the current thread since the counts were taken,
+     * once per partition rather than per argument test.
+     */
+    private static void recordCacheUse(int cacheHits, int cacheMisses) {
+        SEARCH_CACHE_HITS.add(CompiledArgumentFilter.getCacheHits() - cacheHits);
+        SEARCH_CACHE_MISSES.add(CompiledArgumentFilter.getCacheMisses() - cacheMisses);
+    }
+    
     public boolean matches(EntryStack<?> stack) {
         return filter.test(stack);
     }
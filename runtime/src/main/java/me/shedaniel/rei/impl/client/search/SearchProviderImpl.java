@@ -23,34 +23,52 @@
 
 package me.shedaniel.rei.impl.client.search;
 
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.search.SearchFilter;
 import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.impl.client.search.argument.Argument;
-import me.shedaniel.rei.impl.client.search.argument.CompoundArgument;
+import me.shedaniel.rei.impl.client.search.argument.CompiledArgumentFilter;
+import me.shedaniel.rei.impl.client.search.argument.ParsedQuery;
 import me.shedaniel.rei.impl.client.util.CrashReportUtils;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
 import net.minecraft.CrashReport;
 import net.minecraft.CrashReportCategory;
 
-import java.util.List;
 import java.util.Objects;
 
 public class SearchProviderImpl implements SearchProvider {
+    private final TooltipIndexer tooltipIndexer = new TooltipIndexer(() -> EntryRegistry.getInstance().getPreFilteredList());
+    
     @Override
     public void startReload() {
-        
+        tooltipIndexer.invalidate();
+        ParsedQuery.invalidate();
+    }
+    
+    @Override
+    public void endReload() {
+        ((EntryRegistryImpl) EntryRegistry.getInstance()).refilterListener.add(tooltipIndexer::rebuild);
+        tooltipIndexer.rebuild();
+    }
+    
+    public TooltipIndexer getTooltipIndexer() {
+        return tooltipIndexer;
     }
     
     @Override
     public SearchFilter createFilter(String searchTerm) {
-        return new SearchFilterImpl(Argument.bakeArguments(searchTerm), searchTerm);
+        Argument.checkLanguage();
+        // prepared filter data is cached with the parsed query, which skips the language check of the tooltip argument
+        tooltipIndexer.checkLanguage();
+        return new SearchFilterImpl(ParsedQuery.parse(searchTerm).getFilter(), searchTerm);
     }
     
     public static class SearchFilterImpl implements SearchFilter {
-        private final List<CompoundArgument> arguments;
+        private final CompiledArgumentFilter arguments;
         private final String filter;
         
-        public SearchFilterImpl(List<CompoundArgument> arguments, String searchTerm) {
+        public SearchFilterImpl(CompiledArgumentFilter arguments, String searchTerm) {
             this.arguments = arguments;
             this.filter = searchTerm;
         }
@@ -58,7 +76,7 @@ public class SearchProviderImpl implements SearchProvider {
         @Override
         public boolean test(EntryStack<?> stack) {
             try {
-                return Argument.matches(stack, arguments);
+                return arguments.test(stack);
             } catch (Throwable throwable) {
                 CrashReport report = CrashReportUtils.essential(throwable, "Testing entry with search filter");
                 CrashReportCategory category = report.addCategory("Search entry details");
@@ -0,0 +1,217 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search;
+
+import com.google.common.base.Stopwatch;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import me.shedaniel.math.Point;
+import me.shedaniel.rei.RoughlyEnoughItemsCore;
+import me.shedaniel.rei.api.client.REIRuntime;
+import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.plugins.PluginManager;
+import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import net.minecraft.client.Minecraft;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the lowercase tooltip text of every pre-filtered entry once after reload,
+ * so that tooltip searches only have to query the finished index.
+ * <p>
+ * Tooltips are first extracted on a dedicated indexing thread, entries that fail there
+ * (usually because the tooltip touches state owned by the client thread) are extracted
+ * again on the client thread in small batches.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public class TooltipIndexer {
+    private static final int CLIENT_BATCH_SIZE = 64;
+    private static final ExecutorService INDEXER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "REI-TooltipIndexer");
+        thread.setDaemon(true);
+        thread.setUncaughtExceptionHandler(($, exception) -> {
+            RoughlyEnoughItemsCore.LOGGER.throwException(exception);
+        });
+        return thread;
+    });
+    
+    private final Supplier<List<EntryStack<?>>> stacksProvider;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile Index index = Index.EMPTY;
+    
+    public TooltipIndexer(Supplier<List<EntryStack<?>>> stacksProvider) {
+        this.stacksProvider = stacksProvider;
+    }
+    
+    public void invalidate() {
+        generation.incrementAndGet();
+        index = Index.EMPTY;
+    }
+    
+    public void rebuild() {
+        int currentGeneration = generation.incrementAndGet();
+        index = Index.EMPTY;
+        INDEXER.execute(() -> build(currentGeneration));
+    }
+    
+    /**
+     * Rebuilds the index if the language has changed since the index was built,
+     * tooltips are localized, therefore the old index is useless.
+     */
+    public void checkLanguage() {
+        Index current = index;
+        if (current != Index.EMPTY && !Objects.equals(current.language, Minecraft.getInstance().options.languageCode)) {
+            rebuild();
+        }
+    }
+    
+    /**
+     * Returns whether the stack is part of the index, regardless of whether its tooltip has been extracted yet.
+     */
+    public boolean isIndexed(long hashExact) {
+        return index.slots.containsKey(hashExact);
+    }
+    
+    /**
+     * Returns the indexed lowercase tooltip of the stack, or {@code null} if the stack is not indexed,
+     * or the tooltip is not extracted yet.
+     */
+    @Nullable
+    public String getTooltip(long hashExact) {
+        Index current = index;
+        int slot = current.slots.get(hashExact);
+        return slot < 0 ? null : current.tooltips[slot];
+    }
+    
+    private boolean isOutdated(int buildGeneration) {
+        return generation.get() != buildGeneration;
+    }
+    
+    private void build(int buildGeneration) {
+        try {
+            while (PluginManager.areAnyReloading()) {
+                if (isOutdated(buildGeneration)) return;
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            return;
+        }
+        if (isOutdated(buildGeneration)) return;
+        
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<EntryStack<?>> stacks = stacksProvider.get();
+        Long2IntMap slots = new Long2IntOpenHashMap(stacks.size());
+        EntryStack<?>[] indexedStacks = new EntryStack[stacks.size()];
+        int size = 0;
+        for (EntryStack<?> stack : stacks) {
+            long hash = EntryStacks.hashExact(stack);
+            if (!slots.containsKey(hash)) {
+                slots.put(hash, size);
+                indexedStacks[size++] = stack;
+            }
+        }
+        Index building = new Index(slots, new String[size], Minecraft.getInstance().options.languageCode);
+        if (isOutdated(buildGeneration)) return;
+        index = building;
+        
+        IntList deferred = new IntArrayList();
+        for (int i = 0; i < size; i++) {
+            if (isOutdated(buildGeneration)) return;
+            try {
+                building.tooltips[i] = extractTooltip(indexedStacks[i]);
+            } catch (Throwable throwable) {
+                deferred.add(i);
+            }
+        }
+        
+        for (int start = 0; start < deferred.size(); start += CLIENT_BATCH_SIZE) {
+            if (isOutdated(buildGeneration)) return;
+            int end = Math.min(start + CLIENT_BATCH_SIZE, deferred.size());
+            IntList batch = deferred.subList(start, end);
+            Minecraft.getInstance().submit(() -> {
+                for (int i : batch) {
+                    try {
+                        building.tooltips[i] = extractTooltip(indexedStacks[i]);
+                    } catch (Throwable throwable) {
+                        RoughlyEnoughItemsCore.LOGGER.debug("Failed to index tooltip of %s", indexedStacks[i]);
+                        building.tooltips[i] = "";
+                    }
+                }
+            }).join();
+        }
+        
+        if (isOutdated(buildGeneration)) return;
+        // republish to make every extracted tooltip visible to the search threads
+        index = building;
+        RoughlyEnoughItemsCore.LOGGER.debug("Indexed tooltips of %d entries (%d on the client thread) in %s.", size, deferred.size(), stopwatch.stop().toString());
+        Minecraft.getInstance().execute(() -> {
+            REIRuntime.getInstance().getOverlay().ifPresent(overlay -> ((ScreenOverlayImpl) overlay).queueReloadSearch());
+        });
+    }
+    
+    /**
+     * Extracts the lowercase tooltip of the stack in a single attempt.
+     *
+     * @return the tooltip, or an empty string if the stack does not have a tooltip
+     */
+    public static String extractTooltip(EntryStack<?> stack) {
+        Tooltip tooltip = stack.getTooltip(new Point(), false);
+        if (tooltip != null) {
+            return CollectionUtils.mapAndJoinToString(tooltip.getText(), Component::getString, "\n").toLowerCase(Locale.ROOT);
+        }
+        return "";
+    }
+    
+    private static class Index {
+        private static final Index EMPTY = new Index(new Long2IntOpenHashMap(), new String[0], null);
+        private final Long2IntMap slots;
+        private final String[] tooltips;
+        @Nullable
+        private final String language;
+        
+        private Index(Long2IntMap slots, String[] tooltips, @Nullable String language) {
+            this.slots = slots;
+            this.tooltips = tooltips;
+            this.language = language;
+            this.slots.defaultReturnValue(-1);
+        }
+    }
+}
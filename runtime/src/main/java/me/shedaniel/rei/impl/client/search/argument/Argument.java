@@ -33,7 +33,6 @@ import it.unimi.dsi.fastutil.shorts.Short2ObjectMaps;
 import it.unimi.dsi.fastutil.shorts.Short2ObjectOpenHashMap;
 import me.shedaniel.rei.api.client.gui.config.SearchMode;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.search.IntRange;
 import me.shedaniel.rei.impl.client.search.argument.type.AlwaysMatchingArgumentType;
 import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
@@ -44,7 +43,6 @@ import net.fabricmc.api.Environment;
 import net.minecraft.client.Minecraft;
 import net.minecraft.util.Unit;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.mutable.Mutable;
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -171,54 +169,36 @@ public class Argument<T, R> {
         }
     }
     
+    /**
+     * Clears the search cache if the language has changed since the last search,
+     * this should be called once per search, not per tested entry.
+     */
     @ApiStatus.Internal
-    public static boolean matches(EntryStack<?> stack, List<CompoundArgument> compoundArguments) {
-        if (compoundArguments.isEmpty()) return true;
+    public static void checkLanguage() {
         String newLanguage = Minecraft.getInstance().options.languageCode;
         if (!Objects.equals(lastLanguage.getAndSet(newLanguage), newLanguage)) {
             SEARCH_CACHE.clear();
         }
-        Mutable<?> mutable = new MutableObject<>();
-        
-        a:
-        for (CompoundArgument arguments : compoundArguments) {
-            for (AlternativeArgument argument : arguments) {
-                if (!matches(stack, argument, mutable)) {
-                    continue a;
-                }
-            }
-            
-            return true;
-        }
-        
-        return false;
-    }
-    
-    private static <T, R, Z, B> boolean matches(EntryStack<?> stack, AlternativeArgument alternativeArgument, Mutable<?> mutable) {
-        if (alternativeArgument.isEmpty()) return true;
-        long hashExact = EntryStacks.hashExact(stack);
-        
-        for (Argument<?, ?> argument : alternativeArgument) {
-            if (matches((short) argument.getArgument().getIndex(), argument.getArgument(), mutable, stack, hashExact, argument.getText(), argument.filterData) == argument.isRegular()) {
-                return true;
-            }
-        }
-        
-        return false;
     }
     
-    private static <T, R, Z, B> boolean matches(short argumentIndex, ArgumentType<T, B> argumentType, Mutable<Z> data, EntryStack<?> stack, long hashExact, String filter, R filterData) {
+    boolean matches(EntryStack<?> stack, long hashExact, TestState state) {
+        short argumentIndex = (short) argumentType.getIndex();
         Long2ObjectMap<Object> map = SEARCH_CACHE.get(argumentIndex);
         if (map == null) {
             SEARCH_CACHE.put(argumentIndex, map = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>()));
         }
-        Z value = (Z) map.get(hashExact);
-        data.setValue(value);
-        boolean matches = argumentType.matches((Mutable<B>) data, stack, filter, (T) filterData);
+        Object value = map.get(hashExact);
         if (value == null) {
-            map.put(hashExact, data.getValue());
+            state.cacheMisses++;
+        } else {
+            state.cacheHits++;
         }
-        return matches;
+        state.setValue(value);
+        boolean matches = ((ArgumentType<T, Object>) argumentType).matches(state, stack, text, filterData);
+        if (value == null) {
+            map.put(hashExact, state.getValue());
+        }
+        return matches == regular;
     }
     
     public ArgumentType<?, ?> getArgument() {
@@ -238,4 +218,12 @@ public class Argument<T, R> {
         return String.format("Argument[%s]: name = %s, regular = %b", argumentType.getName(), text, regular);
     }
     
+    /**
+     * The data of the argument being tested, reused by a thread across tests, which also counts the search cache hits and misses of the thread.
+     */
+    static final class TestState extends MutableObject<Object> {
+        int cacheHits;
+        int cacheMisses;
+    }
+    
 }
@@ -0,0 +1,149 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.argument;
+
+import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The execution plan of a baked search term, flattened into arrays and ordered by cost:
+ * <ul>
+ *     <li>Compound arguments are alternatives of each other ({@code |}), the cheapest is tested first.</li>
+ *     <li>Alternative arguments of a compound must all match, the cheapest is tested first.</li>
+ *     <li>Arguments of an alternative argument are alternatives of each other, the cheapest is tested first.</li>
+ * </ul>
+ * Testing an entry does not allocate.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class CompiledArgumentFilter {
+    private static final CompiledArgumentFilter ALWAYS = new CompiledArgumentFilter(null);
+    private static final ThreadLocal<Argument.TestState> STATE = ThreadLocal.withInitial(Argument.TestState::new);
+    /**
+     * Indexed by compound, alternative, then argument, {@code null} if every entry matches.
+     */
+    @Nullable
+    private final Argument<?, ?>[][][] plan;
+    
+    private CompiledArgumentFilter(@Nullable Argument<?, ?>[][][] plan) {
+        this.plan = plan;
+    }
+    
+    public static CompiledArgumentFilter compile(List<CompoundArgument> compoundArguments) {
+        if (compoundArguments.isEmpty()) return ALWAYS;
+        List<Argument<?, ?>[][]> compounds = new ArrayList<>(compoundArguments.size());
+        for (CompoundArgument compoundArgument : compoundArguments) {
+            List<Argument<?, ?>[]> alternatives = new ArrayList<>(compoundArgument.size());
+            for (AlternativeArgument alternativeArgument : compoundArgument) {
+                // empty alternatives always match, which doesn't affect the result of the compound
+                if (alternativeArgument.isEmpty()) continue;
+                Argument<?, ?>[] arguments = alternativeArgument.toArray(new Argument[0]);
+                Arrays.sort(arguments, Comparator.comparingInt(argument -> argument.getArgument().getCost()));
+                alternatives.add(arguments);
+            }
+            // a compound without arguments matches every entry
+            if (alternatives.isEmpty()) return ALWAYS;
+            alternatives.sort(Comparator.comparingInt(CompiledArgumentFilter::cost));
+            compounds.add(alternatives.toArray(new Argument[0][]));
+        }
+        compounds.sort(Comparator.comparingInt(compound -> {
+            int cost = 0;
+            for (Argument<?, ?>[] alternative : compound) {
+                cost += cost(alternative);
+            }
+            return cost;
+        }));
+        return new CompiledArgumentFilter(compounds.toArray(new Argument[0][][]));
+    }
+    
+    private static int cost(Argument<?, ?>[] alternative) {
+        int cost = 0;
+        for (Argument<?, ?> argument : alternative) {
+            cost += argument.getArgument().getCost();
+        }
+        return cost;
+    }
+    
+    /**
+     * Returns the number of search cache hits of the entries tested on the current thread so far,
+     * a search takes the difference before and after testing its entries.
+     */
+    public static int getCacheHits() {
+        return STATE.get().cacheHits;
+    }
+    
+    /**
+     * Returns the number of search cache misses of the entries tested on the current thread so far.
+     */
+    public static int getCacheMisses() {
+        return STATE.get().cacheMisses;
+    }
+    
+    public boolean isAlways() {
+        return plan == null;
+    }
+    
+    public boolean test(EntryStack<?> stack) {
+        if (plan == null) return true;
+        long hashExact = EntryStacks.hashExact(stack);
+        Argument.TestState state = STATE.get();
+        
+        for (Argument<?, ?>[][] compound : plan) {
+            if (matchesCompound(compound, stack, hashExact, state)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private static boolean matchesCompound(Argument<?, ?>[][] compound, EntryStack<?> stack, long hashExact, Argument.TestState state) {
+        for (Argument<?, ?>[] alternative : compound) {
+            if (!matchesAlternative(alternative, stack, hashExact, state)) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    private static boolean matchesAlternative(Argument<?, ?>[] alternative, EntryStack<?> stack, long hashExact, Argument.TestState state) {
+        for (Argument<?, ?> argument : alternative) {
+            if (argument.matches(stack, hashExact, state)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.search.argument;
+
+import me.shedaniel.rei.api.client.gui.config.SearchMode;
+import me.shedaniel.rei.impl.client.search.IntRange;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentType;
+import me.shedaniel.rei.impl.client.search.argument.type.ArgumentTypesRegistry;
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A search term baked once, shared by the syntax highlighter and the search filters.
+ * <p>
+ * Parsed queries are kept in a small LRU cache keyed by the search term, the cache is dropped
+ * whenever the search mode of any argument type changes, since the modes affect how terms are baked.
+ */
+@ApiStatus.Internal
+@Environment(EnvType.CLIENT)
+public final class ParsedQuery {
+    private static final int CACHE_SIZE = 64;
+    private static final Map<String, ParsedQuery> CACHE = new LinkedHashMap<String, ParsedQuery>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ParsedQuery> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private static SearchMode[] cachedModes = new SearchMode[0];
+    private final List<CompoundArgument> arguments;
+    private final byte[] highlighted;
+    private final CompiledArgumentFilter filter;
+    
+    private ParsedQuery(String searchTerm) {
+        this.highlighted = new byte[searchTerm.length()];
+        this.arguments = Argument.bakeArguments(searchTerm, new Argument.ProcessedSink() {
+            @Override
+            public void addQuote(int index) {
+                highlighted[index] = -2;
+            }
+            
+            @Override
+            public void addSplitter(int index) {
+                highlighted[index] = -1;
+            }
+            
+            @Override
+            public void addPart(Argument<?, ?> argument, boolean usingGrammar, Collection<IntRange> grammarRanges, int index) {
+                if (usingGrammar) {
+                    int argIndex = ArgumentTypesRegistry.ARGUMENT_TYPE_LIST.indexOf(argument.getArgument()) * 2 + 1;
+                    for (int i = argument.start(); i < argument.end(); i++) {
+                        highlighted[i] = (byte) argIndex;
+                    }
+                    for (IntRange grammarRange : grammarRanges) {
+                        for (int i = grammarRange.min(); i <= grammarRange.max(); i++) {
+                            highlighted[i + index] = (byte) (argIndex + 1);
+                        }
+                    }
+                }
+            }
+        });
+        this.filter = CompiledArgumentFilter.compile(arguments);
+    }
+    
+    public static ParsedQuery parse(String searchTerm) {
+        synchronized (CACHE) {
+            SearchMode[] modes = getSearchModes();
+            if (!Arrays.equals(modes, cachedModes)) {
+                cachedModes = modes;
+                CACHE.clear();
+            }
+            ParsedQuery query = CACHE.get(searchTerm);
+            if (query == null) {
+                query = new ParsedQuery(searchTerm);
+                CACHE.put(searchTerm, query);
+            }
+            return query;
+        }
+    }
+    
+    public static void invalidate() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+    
+    private static SearchMode[] getSearchModes() {
+        List<ArgumentType<?, ?>> types = ArgumentTypesRegistry.ARGUMENT_TYPE_LIST;
+        SearchMode[] modes = new SearchMode[types.size()];
+        for (int i = 0; i < modes.length; i++) {
+            modes[i] = types.get(i).getSearchMode();
+        }
+        return modes;
+    }
+    
+    public List<CompoundArgument> getArguments() {
+        return arguments;
+    }
+    
+    /**
+     * Returns the highlighting of each character of the search term, this array is shared and must not be modified.
+     */
+    public byte[] getHighlighted() {
+        return highlighted;
+    }
+    
+    public CompiledArgumentFilter getFilter() {
+        return filter;
+    }
+}
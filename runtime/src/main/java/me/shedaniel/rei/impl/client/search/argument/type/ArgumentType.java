@@ -56,6 +56,16 @@ public abstract class ArgumentType<T, R> {
         return SearchMode.PREFIX;
     }
     
+    /**
+     * Returns the relative cost of testing an entry against this argument type,
+     * cheaper arguments are tested first so that expensive ones can be short-circuited.
+     *
+     * @return the relative cost of this argument type
+     */
+    public int getCost() {
+        return 0;
+    }
+    
     public ArgumentApplicableResult checkApplicable(String text, boolean forceGrammar) {
         String prefix = getPrefix();
         if (forceGrammar && !prefix.isEmpty()) {
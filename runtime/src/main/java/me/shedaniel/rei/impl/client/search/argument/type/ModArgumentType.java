@@ -50,6 +50,11 @@ public final class ModArgumentType extends ArgumentType<Unit, ModArgumentType.@N
         return "mod";
     }
     
+    @Override
+    public int getCost() {
+        return 10;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
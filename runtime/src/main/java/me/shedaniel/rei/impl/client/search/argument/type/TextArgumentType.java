@@ -43,6 +43,11 @@ public final class TextArgumentType extends ArgumentType<Unit, String> {
         return "text";
     }
     
+    @Override
+    public int getCost() {
+        return 30;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
@@ -23,28 +23,26 @@
 
 package me.shedaniel.rei.impl.client.search.argument.type;
 
-import me.shedaniel.math.Point;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.gui.config.SearchMode;
-import me.shedaniel.rei.api.client.gui.widgets.Tooltip;
+import me.shedaniel.rei.api.client.search.SearchProvider;
 import me.shedaniel.rei.api.common.entry.EntryStack;
-import me.shedaniel.rei.api.common.util.CollectionUtils;
+import me.shedaniel.rei.api.common.util.EntryStacks;
+import me.shedaniel.rei.impl.client.search.SearchProviderImpl;
+import me.shedaniel.rei.impl.client.search.TooltipIndexer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
-import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.Style;
 import net.minecraft.network.chat.TextColor;
-import net.minecraft.util.Unit;
 import org.apache.commons.lang3.mutable.Mutable;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ConcurrentModificationException;
-import java.util.Locale;
 
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
-public final class TooltipArgumentType extends ArgumentType<Unit, String> {
+public final class TooltipArgumentType extends ArgumentType<TooltipIndexer, String> {
     public static final TooltipArgumentType INSTANCE = new TooltipArgumentType();
     private static final Style STYLE = Style.EMPTY.withColor(TextColor.fromRgb(0xffe0ad));
     
@@ -53,6 +51,11 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
         return "tooltip";
     }
     
+    @Override
+    public int getCost() {
+        return 50;
+    }
+    
     @Override
     @Nullable
     public String getPrefix() {
@@ -70,36 +73,38 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
     }
     
     @Override
-    public boolean matches(Mutable<String> data, EntryStack<?> stack, String searchText, Unit filterData) {
+    public boolean matches(Mutable<String> data, EntryStack<?> stack, String searchText, TooltipIndexer indexer) {
         if (data.getValue() == null) {
-            String tooltip = tryGetEntryStackTooltip(stack, 0);
-            if (tooltip == null) return false;
-            data.setValue(tooltip.toLowerCase(Locale.ROOT));
+            long hashExact = EntryStacks.hashExact(stack);
+            String tooltip = indexer.getTooltip(hashExact);
+            if (tooltip == null) {
+                // the indexer will queue another search once it has caught up
+                if (indexer.isIndexed(hashExact)) return false;
+                tooltip = tryGetEntryStackTooltip(stack);
+                if (tooltip == null) return false;
+            }
+            data.setValue(tooltip);
         }
         String tooltip = data.getValue();
         return tooltip.isEmpty() || tooltip.contains(searchText);
     }
     
+    /**
+     * Extracts the tooltip of a stack that is not part of the tooltip index, e.g. hidden entries.
+     *
+     * @return the lowercase tooltip, or {@code null} if the tooltip could not be extracted on this thread
+     */
     @Nullable
-    public static String tryGetEntryStackTooltip(EntryStack<?> stack, int attempt) {
+    private static String tryGetEntryStackTooltip(EntryStack<?> stack) {
         try {
-            Tooltip tooltip = stack.getTooltip(new Point(), false);
-            if (tooltip != null) {
-                return CollectionUtils.mapAndJoinToString(tooltip.getText(), Component::getString, "\n");
-            }
-            return "";
+            return TooltipIndexer.extractTooltip(stack);
         } catch (Throwable throwable) {
             Throwable temp = throwable;
             while (temp != null) {
-                temp = temp.getCause();
                 if (temp instanceof ConcurrentModificationException) {
-                    // yes, this is a hack
-                    if (attempt < 10) {
-                        return tryGetEntryStackTooltip(stack, attempt + 1);
-                    }
-                    
                     return null;
                 }
+                temp = temp.getCause();
             }
             
             throw throwable;
@@ -107,8 +112,10 @@ public final class TooltipArgumentType extends ArgumentType<Unit, String> {
     }
     
     @Override
-    public Unit prepareSearchFilter(String searchText) {
-        return Unit.INSTANCE;
+    public TooltipIndexer prepareSearchFilter(String searchText) {
+        TooltipIndexer indexer = ((SearchProviderImpl) SearchProvider.getInstance()).getTooltipIndexer();
+        indexer.checkLanguage();
+        return indexer;
     }
     
     private TooltipArgumentType() {
@@ -0,0 +1,158 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.client.view;
+
+import me.shedaniel.rei.api.client.config.ConfigObject;
+import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.display.DisplayMerger;
+import me.shedaniel.rei.impl.display.DisplaySpec;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The displays of a category in a view, only collected (and merged) when the list is first accessed.
+ * <p>
+ * The view knows that the category has displays before they are collected,
+ * so categories that are never opened don't pay for collecting, generating or merging their displays.
+ */
+@ApiStatus.Internal
+public class LazyDisplayList extends AbstractList<DisplaySpec> {
+    private final DisplayCategory<?> category;
+    private final List<Consumer<Consumer<Display>>> sources = new ArrayList<>();
+    private List<DisplaySpec> displays;
+    
+    public LazyDisplayList(DisplayCategory<?> category) {
+        this.category = category;
+    }
+    
+    /**
+     * Adds a source of displays, sources are collected in the order they are added.
+     */
+    public void addSource(Consumer<Consumer<Display>> source) {
+        if (displays != null) {
+            throw new IllegalStateException("Displays of " + category.getIdentifier() + " are already collected!");
+        }
+        sources.add(source);
+    }
+    
+    public void addDisplays(Collection<? extends Display> displays) {
+        addSource(consumer -> displays.forEach(consumer));
+    }
+    
+    private List<DisplaySpec> getDisplays() {
+        if (displays == null) {
+            List<Display> collected = new ArrayList<>();
+            for (Consumer<Consumer<Display>> source : sources) {
+                source.accept(collected::add);
+            }
+            sources.clear();
+            displays = merge(category, collected);
+        }
+        return displays;
+    }
+    
+    @Override
+    public DisplaySpec get(int index) {
+        return getDisplays().get(index);
+    }
+    
+    @Override
+    public int size() {
+        return getDisplays().size();
+    }
+    
+    private static List<DisplaySpec> merge(DisplayCategory<?> category, List<Display> displays) {
+        DisplayMerger<Display> merger = (DisplayMerger<Display>) category.getDisplayMerger();
+        if (merger == null || !ConfigObject.getInstance().doMergeDisplayUnderOne()) {
+            return (List<DisplaySpec>) (List<? extends DisplaySpec>) displays;
+        }
+        
+        Map<Wrapped, Wrapped> wrappedSet = new LinkedHashMap<>();
+        List<Wrapped> wrappeds = new ArrayList<>();
+        
+        for (Display display : displays) {
+            Wrapped wrapped = new Wrapped(merger, display);
+            if (wrappedSet.containsKey(wrapped)) {
+                wrappedSet.get(wrapped).add(display);
+            } else {
+                wrappedSet.put(wrapped, wrapped);
+                wrappeds.add(wrapped);
+            }
+        }
+        
+        return (List<DisplaySpec>) (List<? extends DisplaySpec>) wrappeds;
+    }
+    
+    private static class Wrapped implements DisplaySpec {
+        private final DisplayMerger<Display> merger;
+        private Display display;
+        private List<ResourceLocation> ids = null;
+        
+        public Wrapped(DisplayMerger<Display> merger, Display display) {
+            this.merger = merger;
+            this.display = display;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Wrapped)) return false;
+            Wrapped wrapped = (Wrapped) o;
+            return merger.canMerge(display, wrapped.display);
+        }
+        
+        @Override
+        public int hashCode() {
+            return merger.hashOf(display);
+        }
+        
+        @Override
+        public Display provideInternalDisplay() {
+            return display;
+        }
+        
+        @Override
+        public Collection<ResourceLocation> provideInternalDisplayIds() {
+            if (ids == null) {
+                ids = new ArrayList<>();
+                Optional<ResourceLocation> location = display.getDisplayLocation();
+                if (location.isPresent()) {
+                    ids.add(location.get());
+                }
+            }
+            return ids;
+        }
+        
+        public void add(Display display) {
+            Optional<ResourceLocation> location = display.getDisplayLocation();
+            if (location.isPresent()) {
+                provideInternalDisplayIds().add(location.get());
+            }
+        }
+    }
+}
@@ -24,19 +24,22 @@
 package me.shedaniel.rei.impl.client.view;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import me.shedaniel.rei.RoughlyEnoughItemsCore;
 import me.shedaniel.rei.api.client.config.ConfigObject;
 import me.shedaniel.rei.api.client.registry.category.CategoryRegistry;
 import me.shedaniel.rei.api.client.registry.display.DisplayCategory;
 import me.shedaniel.rei.api.client.registry.display.DisplayRegistry;
 import me.shedaniel.rei.api.client.registry.display.DynamicDisplayGenerator;
+import me.shedaniel.rei.api.client.registry.entry.EntryRegistry;
 import me.shedaniel.rei.api.client.view.ViewSearchBuilder;
 import me.shedaniel.rei.api.client.view.Views;
 import me.shedaniel.rei.api.common.category.CategoryIdentifier;
 import me.shedaniel.rei.api.common.display.Display;
-import me.shedaniel.rei.api.common.display.DisplayMerger;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
 import me.shedaniel.rei.api.common.plugins.PluginManager;
@@ -48,27 +51,87 @@ import me.shedaniel.rei.api.common.util.CollectionUtils;
 import me.shedaniel.rei.api.common.util.EntryIngredients;
 import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.client.gui.craftable.CraftableFilter;
+import me.shedaniel.rei.impl.client.registry.display.DisplayRegistryImpl;
+import me.shedaniel.rei.impl.common.entry.type.EntryRegistryImpl;
+import me.shedaniel.rei.impl.common.logging.performance.LatencyHistogram;
 import me.shedaniel.rei.impl.display.DisplaySpec;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.player.LocalPlayer;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @ApiStatus.Internal
 public class ViewsImpl implements Views {
+    private static final LatencyHistogram VIEW_BUILD_TIME = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.histogram("View Building");
+    private static final LongAdder VIEW_CACHE_HITS = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("View Cache Hits");
+    private static final int VIEW_CACHE_SIZE = 16;
+    private static final Map<ViewKey, Map<DisplayCategory<?>, Supplier<Set<Display>>>> VIEW_CACHE = new LinkedHashMap<ViewKey, Map<DisplayCategory<?>, Supplier<Set<Display>>>>(VIEW_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ViewKey, Map<DisplayCategory<?>, Supplier<Set<Display>>>> eldest) {
+            return size() > VIEW_CACHE_SIZE;
+        }
+    };
+    private static int viewCacheVersion = -1;
+    
+    /**
+     * Builds the view of the builder, the categories of the view are determined right away,
+     * while the displays of each category are only collected once the category's list is accessed.
+     * <p>
+     * The registered displays of recently built views are reused, until displays or visibility predicates are added,
+     * the entries are refiltered, or plugins are reloaded. Dynamic display generators are live,
+     * and are therefore queried again for every view.
+     */
     public static Map<DisplayCategory<?>, List<DisplaySpec>> buildMapFor(ViewSearchBuilder builder) {
         if (PluginManager.areAnyReloading()) {
             RoughlyEnoughItemsCore.LOGGER.info("Cancelled Views buildMap since plugins have not finished reloading.");
             return Maps.newLinkedHashMap();
         }
         
-        Stopwatch stopwatch = Stopwatch.createStarted();
+        ViewKey key = ViewKey.of(builder);
+        int version = ((DisplayRegistryImpl) DisplayRegistry.getInstance()).getVersion();
+        Map<DisplayCategory<?>, Supplier<Set<Display>>> cached;
+        synchronized (VIEW_CACHE) {
+            if (viewCacheVersion != version) {
+                viewCacheVersion = version;
+                VIEW_CACHE.clear();
+            }
+            cached = VIEW_CACHE.get(key);
+        }
+        if (cached != null) {
+            VIEW_CACHE_HITS.increment();
+            return buildMap(builder, cached);
+        }
+        
+        long start = System.nanoTime();
+        Map<DisplayCategory<?>, Supplier<Set<Display>>> registeredDisplays = collectRegisteredDisplays(builder);
+        VIEW_BUILD_TIME.recordSince(start);
+        synchronized (VIEW_CACHE) {
+            if (viewCacheVersion == version) {
+                VIEW_CACHE.put(key, registeredDisplays);
+            }
+        }
+        return buildMap(builder, registeredDisplays);
+    }
+    
+    public static void invalidateCache() {
+        synchronized (VIEW_CACHE) {
+            VIEW_CACHE.clear();
+        }
+    }
+    
+    /**
+     * Finds the categories with registered displays matching the view, the displays of each category
+     * are collected once on first access.
+     */
+    private static Map<DisplayCategory<?>, Supplier<Set<Display>>> collectRegisteredDisplays(ViewSearchBuilder builder) {
         Set<CategoryIdentifier<?>> categories = builder.getCategories();
         List<EntryStack<?>> recipesForStacks = builder.getRecipesFor();
         List<EntryStack<?>> usagesForStacks = builder.getUsagesFor();
@@ -78,65 +141,52 @@ public class ViewsImpl implements Views {
         usagesForStacks = Stream.concat(usagesForStacks.stream(), usagesForStacks.stream().map(EntryStack::wildcard))
                 .distinct()
                 .collect(Collectors.toList());
+        List<EntryStack<?>> finalRecipesForStacks = recipesForStacks;
+        List<EntryStack<?>> finalUsagesForStacks = usagesForStacks;
+        long[] recipesForHashes = hashFuzzy(recipesForStacks);
+        long[] usagesForHashes = hashFuzzy(usagesForStacks);
         DisplayRegistry displayRegistry = DisplayRegistry.getInstance();
         
-        Map<DisplayCategory<?>, List<Display>> result = Maps.newLinkedHashMap();
+        Map<DisplayCategory<?>, Supplier<Set<Display>>> result = Maps.newLinkedHashMap();
         for (CategoryRegistry.CategoryConfiguration<?> categoryConfiguration : CategoryRegistry.getInstance()) {
             DisplayCategory<?> category = categoryConfiguration.getCategory();
             if (CategoryRegistry.getInstance().isCategoryInvisible(category)) continue;
             CategoryIdentifier<?> categoryId = categoryConfiguration.getCategoryIdentifier();
             List<Display> allRecipesFromCategory = displayRegistry.get((CategoryIdentifier<Display>) categoryId);
             
-            Set<Display> set = Sets.newLinkedHashSet();
-            if (categories.contains(categoryId)) {
-                for (Display display : allRecipesFromCategory) {
-                    if (displayRegistry.isDisplayVisible(display)) {
-                        set.add(display);
+            boolean includeAll = categories.contains(categoryId);
+            if (!includeAll) {
+                for (int i = 0; i < usagesForStacks.size(); i++) {
+                    if (isStackWorkStationOfCategory(categoryConfiguration, usagesForStacks.get(i), usagesForHashes[i])) {
+                        includeAll = true;
+                        break;
                     }
                 }
-                if (!set.isEmpty()) {
-                    CollectionUtils.getOrPutEmptyList(result, category).addAll(set);
-                }
-                continue;
             }
+            Predicate<Display> predicate = includeAll ? displayRegistry::isDisplayVisible
+                    : display -> displayRegistry.isDisplayVisible(display) && matches(display, finalRecipesForStacks, recipesForHashes, finalUsagesForStacks, usagesForHashes);
+            
+            // only look for the first matching display, the rest is collected lazily
             for (Display display : allRecipesFromCategory) {
-                if (!displayRegistry.isDisplayVisible(display)) continue;
-                if (!recipesForStacks.isEmpty()) {
-                    back:
-                    for (List<? extends EntryStack<?>> results : display.getOutputEntries()) {
-                        for (EntryStack<?> otherEntry : results) {
-                            for (EntryStack<?> recipesFor : recipesForStacks) {
-                                if (EntryStacks.equalsFuzzy(otherEntry, recipesFor)) {
-                                    set.add(display);
-                                    break back;
-                                }
-                            }
-                        }
-                    }
-                }
-                if (!usagesForStacks.isEmpty()) {
-                    back:
-                    for (List<? extends EntryStack<?>> input : display.getInputEntries()) {
-                        for (EntryStack<?> otherEntry : input) {
-                            for (EntryStack<?> usagesFor : usagesForStacks) {
-                                if (EntryStacks.equalsFuzzy(otherEntry, usagesFor)) {
-                                    set.add(display);
-                                    break back;
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            for (EntryStack<?> usagesFor : usagesForStacks) {
-                if (isStackWorkStationOfCategory(categoryConfiguration, usagesFor)) {
-                    set.addAll(CollectionUtils.filterToSet(allRecipesFromCategory, displayRegistry::isDisplayVisible));
+                if (predicate.test(display)) {
+                    result.put(category, Suppliers.memoize(() -> CollectionUtils.filterToSet(allRecipesFromCategory, predicate)));
                     break;
                 }
             }
-            if (!set.isEmpty()) {
-                CollectionUtils.getOrPutEmptyList(result, category).addAll(set);
-            }
+        }
+        
+        return result;
+    }
+    
+    private static Map<DisplayCategory<?>, List<DisplaySpec>> buildMap(ViewSearchBuilder builder, Map<DisplayCategory<?>, Supplier<Set<Display>>> registeredDisplays) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        DisplayRegistry displayRegistry = DisplayRegistry.getInstance();
+        Map<DisplayCategory<?>, LazyDisplayList> result = Maps.newLinkedHashMap();
+        for (Map.Entry<DisplayCategory<?>, Supplier<Set<Display>>> entry : registeredDisplays.entrySet()) {
+            LazyDisplayList list = new LazyDisplayList(entry.getKey());
+            Supplier<Set<Display>> displays = entry.getValue();
+            list.addSource(consumer -> displays.get().forEach(consumer));
+            result.put(entry.getKey(), list);
         }
         
         int generatorsCount = 0;
@@ -145,104 +195,78 @@ public class ViewsImpl implements Views {
             CategoryIdentifier<?> categoryId = entry.getKey();
             DisplayCategory<?> category = CategoryRegistry.getInstance().get(categoryId).getCategory();
             if (CategoryRegistry.getInstance().isCategoryInvisible(category)) continue;
-            Set<Display> set = new LinkedHashSet<>();
-            generatorsCount += entry.getValue().size();
-            
-            for (DynamicDisplayGenerator<Display> generator : (List<DynamicDisplayGenerator<Display>>) (List<? extends DynamicDisplayGenerator<?>>) entry.getValue()) {
-                generateLiveDisplays(displayRegistry, generator, builder, set::add);
-            }
+            List<DynamicDisplayGenerator<Display>> generators = (List<DynamicDisplayGenerator<Display>>) (List<? extends DynamicDisplayGenerator<?>>) entry.getValue();
+            generatorsCount += generators.size();
+            LazyDisplayList list = result.get(category);
             
-            if (!set.isEmpty()) {
-                CollectionUtils.getOrPutEmptyList(result, category).addAll(set);
+            if (list != null) {
+                // the category is already in the view, generate its displays when it is opened
+                list.addSource(consumer -> {
+                    Set<Display> set = new LinkedHashSet<>();
+                    for (DynamicDisplayGenerator<Display> generator : generators) {
+                        generateLiveDisplays(displayRegistry, generator, builder, set::add);
+                    }
+                    set.forEach(consumer);
+                });
+            } else {
+                Set<Display> set = new LinkedHashSet<>();
+                for (DynamicDisplayGenerator<Display> generator : generators) {
+                    generateLiveDisplays(displayRegistry, generator, builder, set::add);
+                }
+                
+                if (!set.isEmpty()) {
+                    list = new LazyDisplayList(category);
+                    list.addDisplays(set);
+                    result.put(category, list);
+                }
             }
         }
         
+        Map<DisplayCategory<?>, List<Display>> globalDisplays = new LinkedHashMap<>();
         Consumer<Display> displayConsumer = display -> {
-            CollectionUtils.getOrPutEmptyList(result, CategoryRegistry.getInstance().get(display.getCategoryIdentifier()).getCategory()).add(display);
+            CollectionUtils.getOrPutEmptyList(globalDisplays, CategoryRegistry.getInstance().get(display.getCategoryIdentifier()).getCategory()).add(display);
         };
         for (DynamicDisplayGenerator<Display> generator : (List<DynamicDisplayGenerator<Display>>) (List<? extends DynamicDisplayGenerator<?>>) displayRegistry.getGlobalDisplayGenerators()) {
             generatorsCount++;
             generateLiveDisplays(displayRegistry, generator, builder, displayConsumer);
         }
-        
-        Map<DisplayCategory<?>, List<DisplaySpec>> resultSpeced = (Map<DisplayCategory<?>, List<DisplaySpec>>) (Map) new LinkedHashMap<>(result);
-        // optimize displays
-        if (ConfigObject.getInstance().doMergeDisplayUnderOne()) {
-            for (Map.Entry<DisplayCategory<?>, List<Display>> entry : result.entrySet()) {
-                DisplayMerger<Display> merger = (DisplayMerger<Display>) entry.getKey().getDisplayMerger();
-                
-                if (merger != null) {
-                    class Wrapped implements DisplaySpec {
-                        private Display display;
-                        private List<ResourceLocation> ids = null;
-                        
-                        public Wrapped(Display display) {
-                            this.display = display;
-                        }
-                        
-                        @Override
-                        public boolean equals(Object o) {
-                            if (this == o) return true;
-                            if (!(o instanceof Wrapped)) return false;
-                            Wrapped wrapped = (Wrapped) o;
-                            return merger.canMerge(display, wrapped.display);
-                        }
-                        
-                        @Override
-                        public int hashCode() {
-                            return merger.hashOf(display);
-                        }
-                        
-                        @Override
-                        public Display provideInternalDisplay() {
-                            return display;
-                        }
-                        
-                        @Override
-                        public Collection<ResourceLocation> provideInternalDisplayIds() {
-                            if (ids == null) {
-                                ids = new ArrayList<>();
-                                Optional<ResourceLocation> location = display.getDisplayLocation();
-                                if (location.isPresent()) {
-                                    ids.add(location.get());
-                                }
-                            }
-                            return ids;
-                        }
-                        
-                        public void add(Display display) {
-                            Optional<ResourceLocation> location = display.getDisplayLocation();
-                            if (location.isPresent()) {
-                                provideInternalDisplayIds().add(location.get());
-                            }
-                        }
-                    }
-                    Map<Wrapped, Wrapped> wrappedSet = new LinkedHashMap<>();
-                    List<Wrapped> wrappeds = new ArrayList<>();
-                    
-                    for (Display display : entry.getValue()) {
-                        Wrapped wrapped = new Wrapped(display);
-                        if (wrappedSet.containsKey(wrapped)) {
-                            wrappedSet.get(wrapped).add(display);
-                        } else {
-                            wrappedSet.put(wrapped, wrapped);
-                            wrappeds.add(wrapped);
-                        }
-                    }
-                    
-                    resultSpeced.put(entry.getKey(), (List<DisplaySpec>) (List) wrappeds);
-                }
-            }
+        for (Map.Entry<DisplayCategory<?>, List<Display>> entry : globalDisplays.entrySet()) {
+            result.computeIfAbsent(entry.getKey(), LazyDisplayList::new).addDisplays(entry.getValue());
         }
         
         String message = String.format("Built Recipe View in %s for %d categories, %d recipes for, %d usages for and %d live recipe generators.",
-                stopwatch.stop(), categories.size(), recipesForStacks.size(), usagesForStacks.size(), generatorsCount);
+                stopwatch.stop(), builder.getCategories().size(), builder.getRecipesFor().size(), builder.getUsagesFor().size(), generatorsCount);
         if (ConfigObject.getInstance().doDebugSearchTimeRequired()) {
             RoughlyEnoughItemsCore.LOGGER.info(message);
         } else {
             RoughlyEnoughItemsCore.LOGGER.trace(message);
         }
-        return resultSpeced;
+        return Collections.unmodifiableMap((Map<DisplayCategory<?>, List<DisplaySpec>>) (Map<DisplayCategory<?>, ? extends List<DisplaySpec>>) result);
+    }
+    
+    private static long[] hashFuzzy(List<EntryStack<?>> stacks) {
+        long[] hashes = new long[stacks.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = EntryStacks.hashFuzzy(stacks.get(i));
+        }
+        return hashes;
+    }
+    
+    private static boolean matches(Display display, List<EntryStack<?>> recipesForStacks, long[] recipesForHashes, List<EntryStack<?>> usagesForStacks, long[] usagesForHashes) {
+        return matchesAny(display.getOutputEntries(), recipesForStacks, recipesForHashes)
+               || matchesAny(display.getInputEntries(), usagesForStacks, usagesForHashes);
+    }
+    
+    private static boolean matchesAny(List<EntryIngredient> ingredients, List<EntryStack<?>> stacks, long[] hashes) {
+        if (stacks.isEmpty()) return false;
+        for (EntryIngredient ingredient : ingredients) {
+            for (int i = 0; i < hashes.length; i++) {
+                if (EntryIngredients.testFuzzy(ingredient, stacks.get(i), hashes[i])) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
     
     private static <T extends Display> void generateLiveDisplays(DisplayRegistry displayRegistry, DynamicDisplayGenerator<T> generator, ViewSearchBuilder builder, Consumer<T> displayConsumer) {
@@ -328,21 +352,15 @@ public class ViewsImpl implements Views {
                 
                 InfoContext context = new InfoContext(display);
                 Iterable<SlotAccessor> inputSlots = info != null ? info.getInputSlots(context) : Collections.emptySet();
-                int slotsCraftable = 0;
-                List<EntryIngredient> requiredInput = display.getRequiredEntries();
-                for (EntryIngredient slot : requiredInput) {
-                    if (slot.isEmpty()) {
-                        slotsCraftable++;
-                        continue;
-                    }
-                    for (EntryStack<?> slotPossible : slot) {
-                        if (CraftableFilter.INSTANCE.matches(slotPossible, inputSlots)) {
-                            slotsCraftable++;
-                            break;
-                        }
+                LongSet inputSlotHashes = CraftableFilter.INSTANCE.hashInputSlots(inputSlots);
+                boolean craftable = true;
+                for (EntryIngredient slot : display.getRequiredEntries()) {
+                    if (!slot.isEmpty() && !CraftableFilter.INSTANCE.matches(slot, inputSlotHashes)) {
+                        craftable = false;
+                        break;
                     }
                 }
-                if (slotsCraftable == display.getRequiredEntries().size()) {
+                if (craftable) {
                     display.getOutputEntries().stream().flatMap(Collection::stream).collect(Collectors.toCollection(() -> craftables));
                 }
             }
@@ -350,9 +368,9 @@ public class ViewsImpl implements Views {
         return craftables;
     }
     
-    private static <T> boolean isStackWorkStationOfCategory(CategoryRegistry.CategoryConfiguration<?> category, EntryStack<T> stack) {
+    private static <T> boolean isStackWorkStationOfCategory(CategoryRegistry.CategoryConfiguration<?> category, EntryStack<T> stack, long hashFuzzy) {
         for (EntryIngredient ingredient : category.getWorkstations()) {
-            if (EntryIngredients.testFuzzy(ingredient, stack)) {
+            if (EntryIngredients.testFuzzy(ingredient, stack, hashFuzzy)) {
                 return true;
             }
         }
@@ -361,6 +379,26 @@ public class ViewsImpl implements Views {
     
     @Override
     public void startReload() {
+        invalidateCache();
+    }
+    
+    @Override
+    public void endReload() {
+        // display visibility depends on the filtered entries
+        ((EntryRegistryImpl) EntryRegistry.getInstance()).refilterListener.add(ViewsImpl::invalidateCache);
+        invalidateCache();
+    }
+    
+    /**
+     * The normalized inputs of a view, the stacks are identified by their exact hashes, regardless of their order.
+     */
+    private record ViewKey(Set<CategoryIdentifier<?>> categories, LongList recipesFor, LongList usagesFor) {
+        private static ViewKey of(ViewSearchBuilder builder) {
+            return new ViewKey(new HashSet<>(builder.getCategories()), hashes(builder.getRecipesFor()), hashes(builder.getUsagesFor()));
+        }
         
+        private static LongList hashes(List<EntryStack<?>> stacks) {
+            return LongArrayList.wrap(stacks.stream().mapToLong(EntryStacks::hashExact).distinct().sorted().toArray());
+        }
     }
 }
@@ -26,6 +26,7 @@ package me.shedaniel.rei.impl.common.entry;
 import com.google.common.collect.Iterators;
 import me.shedaniel.rei.api.common.entry.EntryIngredient;
 import me.shedaniel.rei.api.common.entry.EntryStack;
+import me.shedaniel.rei.api.common.util.EntryStacks;
 import me.shedaniel.rei.impl.Internals;
 import net.minecraft.nbt.ListTag;
 
@@ -143,6 +144,7 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
     
     private static class EmptyEntryIngredient extends AbstractList<EntryStack<?>> implements EntryIngredient, RandomAccess {
         private static final EmptyEntryIngredient EMPTY = new EmptyEntryIngredient();
+        private static final long[] NO_HASHES = new long[0];
         
         @Override
         public Iterator<EntryStack<?>> iterator() {
@@ -231,6 +233,11 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
             return new ListTag();
         }
         
+        @Override
+        public long[] getFuzzyHashes() {
+            return NO_HASHES;
+        }
+        
         @Override
         public EntryIngredient filter(Predicate<EntryStack<?>> filter) {
             return this;
@@ -244,6 +251,7 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
     
     private static class SingletonEntryIngredient extends AbstractList<EntryStack<?>> implements EntryIngredient, RandomAccess {
         private EntryStack<?> stack;
+        private volatile long[] fuzzyHashes;
         
         public SingletonEntryIngredient(EntryStack<?> stack) {
             this.stack = stack;
@@ -352,6 +360,15 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
             return listTag;
         }
         
+        @Override
+        public long[] getFuzzyHashes() {
+            long[] hashes = fuzzyHashes;
+            if (hashes == null) {
+                fuzzyHashes = hashes = new long[]{EntryStacks.hashFuzzy(stack)};
+            }
+            return hashes;
+        }
+        
         @Override
         public EntryIngredient filter(Predicate<EntryStack<?>> filter) {
             if (filter.test(stack)) {
@@ -369,6 +386,7 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
     private static class ArrayIngredient extends AbstractList<EntryStack<?>> implements EntryIngredient, RandomAccess {
         private static final long serialVersionUID = -2764017481108945198L;
         private final EntryStack<?>[] array;
+        private volatile long[] fuzzyHashes;
         
         ArrayIngredient(EntryStack<?>[] array) {
             this.array = Objects.requireNonNull(array);
@@ -459,6 +477,26 @@ public enum EntryIngredientImpl implements Internals.EntryIngredientProvider {
             return listTag;
         }
         
+        @Override
+        public long[] getFuzzyHashes() {
+            long[] hashes = fuzzyHashes;
+            if (hashes == null) {
+                hashes = new long[array.length];
+                for (int i = 0; i < array.length; i++) {
+                    hashes[i] = EntryStacks.hashFuzzy(array[i]);
+                }
+                Arrays.sort(hashes);
+                int size = 0;
+                for (int i = 0; i < hashes.length; i++) {
+                    if (size == 0 || hashes[size - 1] != hashes[i]) {
+                        hashes[size++] = hashes[i];
+                    }
+                }
+                fuzzyHashes = hashes = size == hashes.length ? hashes : Arrays.copyOf(hashes, size);
+            }
+            return hashes;
+        }
+        
         @Override
         public EntryIngredient filter(Predicate<EntryStack<?>> filter) {
             return EntryIngredient.of(stream().filter(filter).toArray(EntryStack[]::new));
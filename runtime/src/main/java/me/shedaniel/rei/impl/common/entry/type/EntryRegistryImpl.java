@@ -47,6 +47,8 @@ import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextImpl;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringContextType;
 import me.shedaniel.rei.impl.client.entry.filtering.FilteringRule;
 import me.shedaniel.rei.impl.client.gui.ScreenOverlayImpl;
+import me.shedaniel.rei.impl.common.logging.performance.LatencyHistogram;
+import me.shedaniel.rei.impl.common.plugins.ReloadToken;
 import me.shedaniel.rei.impl.common.util.HashedEntryStackWrapper;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -60,6 +62,8 @@ import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.LongPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -68,6 +72,8 @@ import java.util.stream.Stream;
 @ApiStatus.Internal
 @Environment(EnvType.CLIENT)
 public class EntryRegistryImpl implements EntryRegistry {
+    private static final LatencyHistogram REFILTER_TIME = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.histogram("Refilter");
+    private static final LongAdder REFILTER_HIDDEN = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.counter("Refilter Hidden Entries");
     public List<Runnable> refilterListener = Lists.newCopyOnWriteArrayList();
     private List<EntryStack<?>> preFilteredList = Lists.newCopyOnWriteArrayList();
     private List<EntryStack<?>> entries = Lists.newCopyOnWriteArrayList();
@@ -141,7 +147,9 @@ public class EntryRegistryImpl implements EntryRegistry {
         FilteringCacheImpl cache = new FilteringCacheImpl();
         List<FilteringRule<?>> rules = ((ConfigObjectImpl) ConfigObject.getInstance()).getFilteringRules();
         Stopwatch innerStopwatch = Stopwatch.createStarted();
+        ReloadToken token = ReloadToken.current();
         for (int i = rules.size() - 1; i >= 0; i--) {
+            token.check();
             innerStopwatch.reset().start();
             FilteringRule<?> rule = rules.get(i);
             cache.setCache(rule, rule.prepareCache(true));
@@ -161,6 +169,9 @@ public class EntryRegistryImpl implements EntryRegistry {
         }
         
         RoughlyEnoughItemsCore.LOGGER.debug("Refiltered %d entries with %d rules in %s.", entries.size() - preFilteredList.size(), rules.size(), stopwatch.stop().toString());
+        REFILTER_TIME.record(stopwatch.elapsed(TimeUnit.NANOSECONDS));
+        REFILTER_HIDDEN.add(entries.size() - preFilteredList.size());
+        token.check();
         
         for (Runnable runnable : refilterListener) {
             runnable.run();
@@ -24,49 +24,220 @@
 package me.shedaniel.rei.impl.common.logging;
 
 import org.apache.logging.log4j.Level;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.IllegalFormatException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Logs to a file from a background writer thread, so that logging threads never wait for disk I/O.
+ * <p>
+ * Log events are queued in a bounded ring buffer, and messages with arguments are only formatted by the writer thread.
+ * Arguments other than strings and boxed primitives are converted to strings when logged, since they may be mutated afterwards.
+ * The file is flushed when the write buffer is full, when the writer is idle for {@link #FLUSH_INTERVAL_NANOS},
+ * after error events, and on shutdown. When the ring buffer is full, events are handled with the {@link DropPolicy}.
+ */
 public class FileLogger implements Logger {
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
-    private final Writer writer;
+    private static final int DEFAULT_CAPACITY = 8192;
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private final LogRingBuffer<LogEvent> buffer;
+    private final DropPolicy dropPolicy;
+    private final PrintWriter writer;
+    private final Thread writerThread;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean idle;
+    private volatile boolean closed;
     
     public FileLogger(Path file) {
+        this(file, Integer.getInteger("rei.logging.bufferSize", DEFAULT_CAPACITY), DropPolicy.fromProperty());
+    }
+    
+    public FileLogger(Path file, int capacity, DropPolicy dropPolicy) {
         try {
             if (file.getParent() != null) Files.createDirectories(file.getParent());
             file.toFile().createNewFile();
-            this.writer = new OutputStreamWriter(new FileOutputStream(file.toFile()), StandardCharsets.UTF_8);
+            this.writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file.toFile()), StandardCharsets.UTF_8), 8192));
         } catch (IOException exception) {
             throw new UncheckedIOException(exception);
         }
+        this.buffer = new LogRingBuffer<>(capacity);
+        this.dropPolicy = dropPolicy;
+        this.writerThread = new Thread(this::drain, "REI-FileLogger");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "REI-FileLogger-Shutdown"));
     }
     
     @Override
     public void throwException(Throwable throwable) {
-        throwable.printStackTrace(new PrintWriter(writer, true));
+        enqueue(new LogEvent(System.currentTimeMillis(), Thread.currentThread().getName(), Level.ERROR, null, null, throwable));
     }
     
     @Override
     public void log(Level level, String message) {
-        message = String.format("[%s] [%s/%s] %s", DATE_TIME_FORMATTER.format(LocalDateTime.now()), Thread.currentThread().getName(), level, message);
-        
-        try {
-            writer.write(message);
-            writer.write("\n");
-            writer.flush();
-        } catch (IOException exception) {
-            exception.printStackTrace();
-        }
+        enqueue(new LogEvent(System.currentTimeMillis(), Thread.currentThread().getName(), level, message, null, null));
     }
     
     @Override
     public void log(Level level, String message, Throwable throwable) {
-        log(level, message);
-        throwable.printStackTrace(new PrintWriter(writer, true));
+        enqueue(new LogEvent(System.currentTimeMillis(), Thread.currentThread().getName(), level, message, null, throwable));
+    }
+    
+    @Override
+    public void log(Level level, String message, Object... args) {
+        enqueue(new LogEvent(System.currentTimeMillis(), Thread.currentThread().getName(), level, message, snapshotArgs(args), null));
+    }
+    
+    @Nullable
+    private static Object[] snapshotArgs(@Nullable Object[] args) {
+        if (args == null) return null;
+        Object[] snapshot = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            // atomic numbers are mutable, only the boxed primitives are kept for numeric format specifiers
+            if (arg == null || arg instanceof String || arg instanceof Integer || arg instanceof Long || arg instanceof Double
+                    || arg instanceof Float || arg instanceof Short || arg instanceof Byte || arg instanceof Boolean || arg instanceof Character) {
+                snapshot[i] = arg;
+            } else {
+                snapshot[i] = String.valueOf(arg);
+            }
+        }
+        return snapshot;
+    }
+    
+    private void enqueue(LogEvent event) {
+        boolean urgent = event.level().isMoreSpecificThan(Level.ERROR);
+        while (!buffer.offer(event)) {
+            if (closed || dropPolicy == DropPolicy.DISCARD) {
+                dropped.incrementAndGet();
+                return;
+            }
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        if (idle && (urgent || buffer.size() >= buffer.capacity() / 2)) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+    
+    private void drain() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (true) {
+            LogEvent event = buffer.poll();
+            if (event != null) {
+                write(event);
+                dirty = true;
+                if (event.level().isMoreSpecificThan(Level.ERROR)) {
+                    writer.flush();
+                    dirty = false;
+                    lastFlush = System.nanoTime();
+                }
+                continue;
+            }
+            
+            long droppedEvents = dropped.getAndSet(0);
+            if (droppedEvents > 0) {
+                write(new LogEvent(System.currentTimeMillis(), Thread.currentThread().getName(), Level.WARN, "Dropped %d log events, the log buffer was full", new Object[]{droppedEvents}, null));
+                dirty = true;
+            }
+            
+            long sinceFlush = System.nanoTime() - lastFlush;
+            if (dirty && (closed || sinceFlush >= FLUSH_INTERVAL_NANOS)) {
+                writer.flush();
+                dirty = false;
+                lastFlush = System.nanoTime();
+                sinceFlush = 0;
+            }
+            if (closed) {
+                if (buffer.size() == 0) return;
+                continue;
+            }
+            
+            idle = true;
+            // recheck after publishing the idle flag, so that an urgent event never waits for the timeout
+            if (buffer.size() == 0) {
+                LockSupport.parkNanos(this, dirty ? FLUSH_INTERVAL_NANOS - sinceFlush : FLUSH_INTERVAL_NANOS);
+            }
+            idle = false;
+        }
+    }
+    
+    private void write(LogEvent event) {
+        try {
+            if (event.message() != null) {
+                writer.write(String.format("[%s] [%s/%s] %s", DATE_TIME_FORMATTER.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.time()), ZoneId.systemDefault())),
+                        event.thread(), event.level(), event.formatMessage()));
+                writer.write("\n");
+            }
+            if (event.throwable() != null) {
+                event.throwable().printStackTrace(writer);
+            }
+        } catch (Throwable throwable) {
+            throwable.printStackTrace();
+        }
+    }
+    
+    /**
+     * Writes every queued event and flushes the file, events logged afterwards may be dropped.
+     */
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException ignored) {
+        }
+        writer.flush();
+    }
+    
+    /**
+     * What to do with events logged while the ring buffer is full.
+     */
+    public enum DropPolicy {
+        /**
+         * Drops the event, the number of dropped events is logged once the buffer drains.
+         */
+        DISCARD,
+        /**
+         * Waits for the writer thread to free space in the buffer.
+         */
+        BLOCK;
+        
+        private static DropPolicy fromProperty() {
+            String property = System.getProperty("rei.logging.dropPolicy");
+            if (property != null) {
+                try {
+                    return valueOf(property.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+            return DISCARD;
+        }
+    }
+    
+    private record LogEvent(long time, String thread, Level level, @Nullable String message, @Nullable Object[] args,
+                            @Nullable Throwable throwable) {
+        private String formatMessage() {
+            if (args == null) return message;
+            try {
+                return String.format(message, args);
+            } catch (IllegalFormatException exception) {
+                return message + " " + Arrays.toString(args);
+            }
+        }
     }
 }
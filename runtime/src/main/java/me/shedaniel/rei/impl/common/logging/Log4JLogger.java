@@ -46,4 +46,10 @@ public class Log4JLogger implements Logger {
     public void log(Level level, String message, Throwable throwable) {
         logger.log(level, message, throwable);
     }
+    
+    @Override
+    public void log(Level level, String message, Object... args) {
+        // with a formatter logger, messages of disabled levels are never formatted
+        logger.log(level, message, args);
+    }
 }
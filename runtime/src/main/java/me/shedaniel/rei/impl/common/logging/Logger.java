@@ -32,6 +32,9 @@ public interface Logger {
     
     void log(Level level, String message, Throwable throwable);
     
+    /**
+     * Logs a message formatted with {@link String#format(String, Object...)}, implementations may format lazily.
+     */
     default void log(Level level, String message, Object... args) {
         log(level, String.format(message, args));
     }
@@ -45,7 +48,7 @@ public interface Logger {
     }
     
     default void fatal(String message, Object... args) {
-        log(Level.FATAL, String.format(message, args));
+        log(Level.FATAL, message, args);
     }
     
     default void error(String message) {
@@ -57,7 +60,7 @@ public interface Logger {
     }
     
     default void error(String message, Object... args) {
-        log(Level.ERROR, String.format(message, args));
+        log(Level.ERROR, message, args);
     }
     
     default void warn(String message) {
@@ -69,7 +72,7 @@ public interface Logger {
     }
     
     default void warn(String message, Object... args) {
-        log(Level.WARN, String.format(message, args));
+        log(Level.WARN, message, args);
     }
     
     default void info(String message) {
@@ -81,7 +84,7 @@ public interface Logger {
     }
     
     default void info(String message, Object... args) {
-        log(Level.INFO, String.format(message, args));
+        log(Level.INFO, message, args);
     }
     
     default void debug(String message) {
@@ -93,7 +96,7 @@ public interface Logger {
     }
     
     default void debug(String message, Object... args) {
-        log(Level.DEBUG, String.format(message, args));
+        log(Level.DEBUG, message, args);
     }
     
     default void trace(String message) {
@@ -105,6 +108,6 @@ public interface Logger {
     }
     
     default void trace(String message, Object... args) {
-        log(Level.TRACE, String.format(message, args));
+        log(Level.TRACE, message, args);
     }
 }
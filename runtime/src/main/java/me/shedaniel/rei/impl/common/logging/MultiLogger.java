@@ -52,4 +52,11 @@ public class MultiLogger implements Logger {
             logger.log(level, message, throwable);
         }
     }
+    
+    @Override
+    public void log(Level level, String message, Object... args) {
+        for (Logger logger : loggers) {
+            logger.log(level, message, args);
+        }
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.logging.performance;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram cheap enough to be always on, recording does not allocate nor contend.
+ * <p>
+ * Every thread records into its own shard, shards are only merged when a {@link Snapshot} is taken.
+ * Latencies are bucketed log-linearly, with 8 buckets per power of two, percentiles are therefore
+ * accurate to within 12.5%.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final int COUNT = BUCKETS;
+    private static final int SUM = BUCKETS + 1;
+    private static final int MAX = BUCKETS + 2;
+    private volatile Shards shards = new Shards();
+    
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        // only the owning thread writes to a shard, ordered writes are enough to publish to readers
+        AtomicLongArray shard = shards.local.get();
+        int bucket = bucketOf(nanos);
+        shard.lazySet(bucket, shard.get(bucket) + 1);
+        shard.lazySet(COUNT, shard.get(COUNT) + 1);
+        shard.lazySet(SUM, shard.get(SUM) + nanos);
+        if (nanos > shard.get(MAX)) {
+            shard.lazySet(MAX, nanos);
+        }
+    }
+    
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+    
+    public void reset() {
+        this.shards = new Shards();
+    }
+    
+    public Snapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        long count = 0, sum = 0, max = 0;
+        for (AtomicLongArray shard : shards.all) {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] += shard.get(i);
+            }
+            count += shard.get(COUNT);
+            sum += shard.get(SUM);
+            max = Math.max(max, shard.get(MAX));
+        }
+        return new Snapshot(count, sum, max, buckets);
+    }
+    
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    private static long lowerBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = bucket / SUB_BUCKETS - 1 + SUB_BUCKET_BITS;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+    }
+    
+    private static class Shards {
+        private final Queue<AtomicLongArray> all = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<AtomicLongArray> local = ThreadLocal.withInitial(() -> {
+            AtomicLongArray shard = new AtomicLongArray(BUCKETS + 3);
+            all.add(shard);
+            return shard;
+        });
+    }
+    
+    public record Snapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+        public long meanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+        
+        /**
+         * Returns the latency under which the given fraction of the recorded latencies fall.
+         *
+         * @param percentile the fraction, between 0 and 1
+         * @return the latency in nanoseconds, or 0 if nothing was recorded
+         */
+        public long percentileNanos(double percentile) {
+            if (count == 0) return 0;
+            long target = Math.max(1, (long) Math.ceil(count * percentile));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    long lower = lowerBoundOf(i);
+                    long upper = i + 1 < BUCKETS ? lowerBoundOf(i + 1) : Long.MAX_VALUE;
+                    return Math.min(lower + (upper - lower) / 2, maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+    }
+}
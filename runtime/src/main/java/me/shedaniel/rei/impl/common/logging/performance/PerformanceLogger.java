@@ -27,15 +27,39 @@ import com.mojang.datafixers.util.Pair;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
 import me.shedaniel.rei.api.common.plugins.REIPluginProvider;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 public interface PerformanceLogger {
     Plugin stage(String stage);
     
+    /**
+     * Returns the histogram of a runtime hot path, the same histogram is returned for the same name,
+     * {@link #clear()} resets histograms instead of removing them, so callers may keep the returned histogram.
+     */
+    LatencyHistogram histogram(String name);
+    
+    /**
+     * Returns the counter of a runtime metric, the same counter is returned for the same name,
+     * {@link #clear()} resets counters instead of removing them, so callers may keep the returned counter.
+     */
+    LongAdder counter(String name);
+    
     void clear();
     
     Map<String, Plugin> getStages();
     
+    Map<String, LatencyHistogram> getHistograms();
+    
+    Map<String, LongAdder> getCounters();
+    
+    /**
+     * Writes every stage, histogram and counter in a plain text format, for comparing runs.
+     */
+    void dump(Writer writer) throws IOException;
+    
     interface Plugin extends AutoCloseable {
         Inner stage(String stage);
         
@@ -23,77 +23,190 @@
 
 package me.shedaniel.rei.impl.common.logging.performance;
 
-import com.google.common.base.Stopwatch;
-import com.google.common.collect.Maps;
 import com.mojang.datafixers.util.Pair;
-import it.unimi.dsi.fastutil.objects.Object2LongLinkedOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2LongMap;
-import it.unimi.dsi.fastutil.objects.Object2LongMaps;
 import me.shedaniel.rei.api.common.plugins.REIPlugin;
 import me.shedaniel.rei.api.common.plugins.REIPluginProvider;
 
-import java.util.Collections;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Stage timings are accumulated in {@link LongAdder}s, which stripe concurrent updates and are only summed on read,
+ * spans are measured with {@link System#nanoTime()}, so that the logger can stay enabled at all times.
+ * Stages and the plugins within them are kept in concurrent maps without locking, and are sorted back into the order
+ * they are first seen when read.
+ */
 public class PerformanceLoggerImpl implements PerformanceLogger {
-    private final Map<String, PluginImpl> stages = Collections.synchronizedMap(Maps.newLinkedHashMap());
+    private final Map<String, StageImpl> stages = new ConcurrentHashMap<>();
+    private final AtomicInteger stageSequence = new AtomicInteger();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
     
     @Override
     public Plugin stage(String stage) {
-        PluginImpl plugin = stages.computeIfAbsent(stage, $ -> new PluginImpl());
-        plugin.stopwatch.start();
-        return plugin;
+        return new StageSpan(stages.computeIfAbsent(stage, $ -> new StageImpl(stageSequence.getAndIncrement())));
+    }
+    
+    @Override
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, $ -> new LatencyHistogram());
+    }
+    
+    @Override
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, $ -> new LongAdder());
     }
     
     @Override
     public Map<String, Plugin> getStages() {
-        return (Map<String, Plugin>) (Map<String, ? extends Plugin>) stages;
+        List<Map.Entry<String, StageImpl>> entries = new ArrayList<>(stages.entrySet());
+        entries.sort(Comparator.comparingInt(entry -> entry.getValue().sequence));
+        Map<String, Plugin> snapshot = new LinkedHashMap<>();
+        for (Map.Entry<String, StageImpl> entry : entries) {
+            snapshot.put(entry.getKey(), entry.getValue());
+        }
+        return snapshot;
+    }
+    
+    @Override
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+    
+    @Override
+    public Map<String, LongAdder> getCounters() {
+        return new TreeMap<>(counters);
+    }
+    
+    @Override
+    public void dump(Writer writer) throws IOException {
+        for (Map.Entry<String, Plugin> entry : getStages().entrySet()) {
+            writer.write(String.format(Locale.ROOT, "stage %s: %d ns%n", entry.getKey(), entry.getValue().totalNano()));
+            for (Map.Entry<Object, Long> time : entry.getValue().times().entrySet()) {
+                Object key = time.getKey();
+                String name = key instanceof Pair<?, ?> pair ? ((REIPluginProvider<?>) pair.getFirst()).getPluginProviderName() : Objects.toString(key);
+                writer.write(String.format(Locale.ROOT, "  %s: %d ns%n", name, time.getValue()));
+            }
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot();
+            writer.write(String.format(Locale.ROOT, "histogram %s: count=%d mean=%d ns p50=%d ns p99=%d ns max=%d ns%n", entry.getKey(),
+                    snapshot.count(), snapshot.meanNanos(), snapshot.percentileNanos(0.5), snapshot.percentileNanos(0.99), snapshot.maxNanos()));
+        }
+        for (Map.Entry<String, LongAdder> entry : getCounters().entrySet()) {
+            writer.write(String.format(Locale.ROOT, "counter %s: %d%n", entry.getKey(), entry.getValue().sum()));
+        }
     }
     
-    private static class PluginImpl implements Plugin {
-        private final Stopwatch stopwatch = Stopwatch.createUnstarted();
-        private long totalTime = 0;
-        private Object2LongMap<Object> times = Object2LongMaps.synchronize(new Object2LongLinkedOpenHashMap<>());
+    private static class StageImpl implements Plugin {
+        private final int sequence;
+        private final LongAdder totalTime = new LongAdder();
+        private final Map<Object, Time> times = new ConcurrentHashMap<>();
+        private final AtomicInteger timeSequence = new AtomicInteger();
+        
+        private StageImpl(int sequence) {
+            this.sequence = sequence;
+        }
         
         @Override
         public Inner stage(String stage) {
-            Stopwatch s = Stopwatch.createStarted();
-            return () -> {
-                s.stop();
-                times.put(stage, times.getOrDefault(stage, 0) + s.elapsed(TimeUnit.NANOSECONDS));
-            };
+            return new InnerSpan(times.computeIfAbsent(stage, $ -> new Time(timeSequence.getAndIncrement())).time);
         }
         
         @Override
         public Inner plugin(Pair<REIPluginProvider<?>, REIPlugin<?>> plugin) {
-            Stopwatch s = Stopwatch.createStarted();
-            return () -> {
-                s.stop();
-                times.put(plugin, times.getOrDefault(plugin, 0) + s.elapsed(TimeUnit.NANOSECONDS));
-            };
+            return new InnerSpan(times.computeIfAbsent(plugin, $ -> new Time(timeSequence.getAndIncrement())).time);
         }
         
         @Override
-        public void close() {
-            stopwatch.stop();
-            totalTime += stopwatch.elapsed(TimeUnit.NANOSECONDS);
-            stopwatch.reset();
+        public void close() {}
+        
+        @Override
+        public long totalNano() {
+            return totalTime.sum();
+        }
+        
+        @Override
+        public Map<Object, Long> times() {
+            List<Map.Entry<Object, Time>> entries = new ArrayList<>(times.entrySet());
+            entries.sort(Comparator.comparingInt(entry -> entry.getValue().sequence));
+            Map<Object, Long> snapshot = new LinkedHashMap<>();
+            for (Map.Entry<Object, Time> entry : entries) {
+                snapshot.put(entry.getKey(), entry.getValue().time.sum());
+            }
+            return snapshot;
+        }
+    }
+    
+    private static class Time {
+        private final int sequence;
+        private final LongAdder time = new LongAdder();
+        
+        private Time(int sequence) {
+            this.sequence = sequence;
+        }
+    }
+    
+    private static class StageSpan implements Plugin {
+        private final StageImpl stage;
+        private final long start = System.nanoTime();
+        
+        private StageSpan(StageImpl stage) {
+            this.stage = stage;
+        }
+        
+        @Override
+        public Inner stage(String stage) {
+            return this.stage.stage(stage);
+        }
+        
+        @Override
+        public Inner plugin(Pair<REIPluginProvider<?>, REIPlugin<?>> plugin) {
+            return this.stage.plugin(plugin);
         }
         
         @Override
         public long totalNano() {
-            return totalTime;
+            return stage.totalNano();
+        }
+        
+        @Override
+        public void close() {
+            stage.totalTime.add(System.nanoTime() - start);
         }
         
         @Override
         public Map<Object, Long> times() {
-            return times;
+            return stage.times();
+        }
+    }
+    
+    private static class InnerSpan implements Plugin.Inner {
+        private final LongAdder time;
+        private final long start = System.nanoTime();
+        
+        private InnerSpan(LongAdder time) {
+            this.time = time;
+        }
+        
+        @Override
+        public void close() {
+            time.add(System.nanoTime() - start);
         }
     }
     
     @Override
     public void clear() {
         stages.clear();
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        for (LongAdder counter : counters.values()) {
+            counter.reset();
+        }
     }
 }
@@ -49,6 +49,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.Closeable;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.LongConsumer;
@@ -174,7 +175,9 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
     }
     
     private void pluginSection(ReloadStage stage, String sectionName, List<PluginWrapper<P>> list, @Nullable Reloadable<?> reloadable, Consumer<PluginWrapper<P>> consumer) {
+        ReloadToken token = ReloadToken.current();
         for (PluginWrapper<P> wrapper : list) {
+            token.check();
             try (SectionClosable section = section(stage, sectionName + wrapper.getPluginProviderName() + "/")) {
                 if (reloadable == null || !wrapper.plugin.shouldBeForcefullyDoneOnMainThread(reloadable)) {
                     consumer.accept(wrapper);
@@ -186,6 +189,8 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
                         queueExecution(() -> consumer.accept(wrapper));
                     }
                 }
+            } catch (CancellationException cancellation) {
+                throw cancellation;
             } catch (Throwable throwable) {
                 RoughlyEnoughItemsCore.LOGGER.error(wrapper.getPluginProviderName() + " plugin failed to " + sectionName + "!", throwable);
             }
@@ -216,6 +221,8 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
                     ((REIPlugin<P>) plugin.plugin).preStage(this, stage);
                 }
             });
+        } catch (CancellationException cancellation) {
+            throw cancellation;
         } catch (Throwable throwable) {
             new RuntimeException("Failed to run pre registration").printStackTrace();
         }
@@ -234,6 +241,8 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
                     ((REIPlugin<P>) plugin.plugin).postStage(this, stage);
                 }
             });
+        } catch (CancellationException cancellation) {
+            throw cancellation;
         } catch (Throwable throwable) {
             new RuntimeException("Failed to run post registration").printStackTrace();
         }
@@ -247,17 +256,30 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
     
     @Override
     public void startReload(ReloadStage stage) {
+        reload(stage, reloadables);
+    }
+    
+    /**
+     * Reloads the given reloadables of this plugin manager for a stage, leaving every other reloadable untouched.
+     * The {@link #pre(ReloadStage)} and {@link #post(ReloadStage)} hooks are left to the caller, like for {@link #startReload(ReloadStage)}.
+     *
+     * @param stage   the stage to reload
+     * @param targets the reloadables to reload, in the order of {@link #getReloadables()}
+     */
+    public void reload(ReloadStage stage, List<Reloadable<P>> targets) {
         try {
             reloading = true;
             long startTime = Util.getMillis();
             
             try (SectionClosable startReloadAll = section(stage, "start-reload/");
                  PerformanceLogger.Plugin perfLogger = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.stage("Reload Initialization")) {
-                for (Reloadable<P> reloadable : reloadables) {
+                for (Reloadable<P> reloadable : targets) {
                     Class<?> reloadableClass = reloadable.getClass();
                     try (SectionClosable startReload = section(stage, "start-reload/" + name(reloadableClass) + "/");
                          PerformanceLogger.Plugin.Inner inner = perfLogger.stage(name(reloadableClass))) {
                         reloadable.startReload(stage);
+                    } catch (CancellationException cancellation) {
+                        throw cancellation;
                     } catch (Throwable throwable) {
                         throwable.printStackTrace();
                     }
@@ -269,7 +291,7 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
             RoughlyEnoughItemsCore.LOGGER.info("Reloading Plugin Manager [%s] stage [%s], registered %d plugins: %s", name(pluginClass), stage.toString(), plugins.size(), CollectionUtils.mapAndJoinToString(plugins, PluginWrapper::getPluginProviderName, ", "));
             Collections.reverse(plugins);
             
-            for (Reloadable<P> reloadable : getReloadables()) {
+            for (Reloadable<P> reloadable : targets) {
                 Class<?> reloadableClass = reloadable.getClass();
                 try (SectionClosable reloadablePlugin = section(stage, "reloadable-plugin/" + name(reloadableClass) + "/");
                      PerformanceLogger.Plugin perfLogger = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.stage(name(reloadableClass))) {
@@ -283,11 +305,14 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
             
             try (SectionClosable endReloadAll = section(stage, "end-reload/");
                  PerformanceLogger.Plugin perfLogger = RoughlyEnoughItemsCore.PERFORMANCE_LOGGER.stage("Reload Finalization")) {
-                for (Reloadable<P> reloadable : reloadables) {
+                for (Reloadable<P> reloadable : targets) {
+                    ReloadToken.checkCurrent();
                     Class<?> reloadableClass = reloadable.getClass();
                     try (SectionClosable endReload = section(stage, "end-reload/" + name(reloadableClass) + "/");
                          PerformanceLogger.Plugin.Inner inner = perfLogger.stage(name(reloadableClass))) {
                         reloadable.endReload(stage);
+                    } catch (CancellationException cancellation) {
+                        throw cancellation;
                     } catch (Throwable throwable) {
                         throwable.printStackTrace();
                     }
@@ -296,6 +321,8 @@ public class PluginManagerImpl<P extends REIPlugin<?>> implements PluginManager<
             
             long usedTime = Util.getMillis() - startTime;
             reloadDoneListener.accept(usedTime);
+        } catch (CancellationException cancellation) {
+            throw cancellation;
         } catch (Throwable throwable) {
             throwable.printStackTrace();
         } finally {
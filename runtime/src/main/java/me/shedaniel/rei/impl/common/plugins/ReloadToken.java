@@ -0,0 +1,88 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.plugins;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * The cancellation token of a plugin reload, checked by the plugin stages and the long loops of the reloadables.
+ * <p>
+ * The token is bound to the reloading thread, code outside of a reload sees {@link #NONE}, which is never cancelled.
+ * Work forked to other threads should capture {@link #current()} before forking.
+ */
+@ApiStatus.Internal
+public final class ReloadToken {
+    public static final ReloadToken NONE = new ReloadToken();
+    private static final ThreadLocal<ReloadToken> CURRENT = ThreadLocal.withInitial(() -> NONE);
+    private volatile boolean cancelled;
+    
+    public static ReloadToken current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Throws if the reload running on this thread is cancelled.
+     *
+     * @throws CancellationException if the reload is cancelled
+     */
+    public static void checkCurrent() {
+        CURRENT.get().check();
+    }
+    
+    /**
+     * Runs the reload with this token bound to the current thread.
+     *
+     * @throws CancellationException if the reload is cancelled
+     */
+    public void run(Runnable reload) {
+        ReloadToken previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            reload.run();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+    
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * @throws CancellationException if the reload is cancelled
+     */
+    public void check() {
+        if (cancelled) {
+            throw new CancellationException("Plugin reload cancelled");
+        }
+    }
+}
@@ -54,8 +54,10 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
     private Iterable<SlotAccessor> inputStacks;
     private Iterable<SlotAccessor> inventoryStacks;
     private ServerPlayer player;
+    @Nullable
+    private InventoryIndex inventoryIndex;
     
-    private InputSlotCrafter(CategoryIdentifier<D> category, T container) {
+    InputSlotCrafter(CategoryIdentifier<D> category, T container) {
         this.category = category;
         this.container = container;
     }
@@ -156,20 +158,41 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
             
             if (recipeFinder.findRecipe(ingredients, recipeItemIds, finalCraftsAmount)) {
                 this.cleanInputs();
-                this.alignRecipeToGrid(inputStacks, recipeItemIds.iterator(), finalCraftsAmount);
+                this.indexInventory();
+                try {
+                    this.alignRecipeToGrid(inputStacks, recipeItemIds.iterator(), finalCraftsAmount);
+                } finally {
+                    this.inventoryIndex = null;
+                }
             }
         }
     }
     
+    void setInventoryStacks(Iterable<SlotAccessor> inventoryStacks) {
+        this.inventoryStacks = inventoryStacks;
+    }
+    
+    /**
+     * Indexes the inventory stacks, {@link #takeInventoryStack(ItemStack)} then looks the stacks up in the index
+     * instead of scanning the inventory, until the index is dropped.
+     */
+    void indexInventory() {
+        this.inventoryIndex = new InventoryIndex(inventoryStacks, InputSlotCrafter::isTakeable);
+    }
+    
     protected void cleanInputs() {
         this.menuInfo.getInputCleanHandler().clean(this);
     }
     
     @Nullable
     public SlotAccessor takeInventoryStack(ItemStack itemStack) {
+        if (inventoryIndex != null) {
+            return inventoryIndex.find(itemStack);
+        }
+        
         for (SlotAccessor inventoryStack : inventoryStacks) {
             ItemStack itemStack1 = inventoryStack.getItemStack();
-            if (!itemStack1.isEmpty() && areItemsEqual(itemStack, itemStack1) && !itemStack1.isDamaged() && !itemStack1.isEnchanted() && !itemStack1.hasCustomHoverName()) {
+            if (!itemStack1.isEmpty() && areItemsEqual(itemStack, itemStack1) && isTakeable(itemStack1)) {
                 return inventoryStack;
             }
         }
@@ -177,6 +200,10 @@ public class InputSlotCrafter<T extends AbstractContainerMenu, C extends Contain
         return null;
     }
     
+    private static boolean isTakeable(ItemStack stack) {
+        return !stack.isDamaged() && !stack.isEnchanted() && !stack.hasCustomHoverName();
+    }
+    
     private static boolean areItemsEqual(ItemStack stack1, ItemStack stack2) {
         return stack1.getItem() == stack2.getItem() && ItemStack.tagMatches(stack1, stack2);
     }
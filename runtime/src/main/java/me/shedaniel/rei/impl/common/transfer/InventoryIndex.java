@@ -0,0 +1,93 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.transfer;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import me.shedaniel.rei.api.common.transfer.info.stack.SlotAccessor;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An index of the inventory slots taking part in a single transfer, keyed by item and tag hash,
+ * so that taking a stack does not have to scan the whole inventory.
+ * <p>
+ * The slots of a bucket are kept in inventory order, therefore the slot taken from is the same slot
+ * a linear scan over the inventory would have found. The index is only valid while the inventory
+ * is exclusively drained through it.
+ */
+public class InventoryIndex {
+    private final Map<Item, Int2ObjectMap<Bucket>> buckets = new IdentityHashMap<>();
+    
+    public InventoryIndex(Iterable<SlotAccessor> slots, Predicate<ItemStack> eligible) {
+        for (SlotAccessor slot : slots) {
+            ItemStack stack = slot.getItemStack();
+            if (!stack.isEmpty() && eligible.test(stack)) {
+                buckets.computeIfAbsent(stack.getItem(), $ -> new Int2ObjectOpenHashMap<>())
+                        .computeIfAbsent(hashTag(stack.getTag()), $ -> new Bucket())
+                        .slots.add(slot);
+            }
+        }
+    }
+    
+    /**
+     * Returns the first non-empty slot holding the same item with the same tag as the given stack.
+     */
+    @Nullable
+    public SlotAccessor find(ItemStack stack) {
+        Int2ObjectMap<Bucket> itemBuckets = buckets.get(stack.getItem());
+        if (itemBuckets == null) return null;
+        Bucket bucket = itemBuckets.get(hashTag(stack.getTag()));
+        if (bucket == null) return null;
+        List<SlotAccessor> slots = bucket.slots;
+        // slots only ever drain during a transfer, skip the ones drained already for good
+        while (bucket.start < slots.size() && slots.get(bucket.start).getItemStack().isEmpty()) {
+            bucket.start++;
+        }
+        for (int i = bucket.start; i < slots.size(); i++) {
+            ItemStack slotStack = slots.get(i).getItemStack();
+            if (!slotStack.isEmpty() && ItemStack.tagMatches(stack, slotStack)) {
+                return slots.get(i);
+            }
+        }
+        return null;
+    }
+    
+    private static int hashTag(@Nullable CompoundTag tag) {
+        return tag == null ? 0 : tag.hashCode();
+    }
+    
+    private static class Bucket {
+        private final List<SlotAccessor> slots = new ArrayList<>();
+        private int start;
+    }
+}
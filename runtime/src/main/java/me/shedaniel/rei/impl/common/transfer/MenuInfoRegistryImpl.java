@@ -38,26 +38,34 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     private final Map<CategoryIdentifier<?>, Map<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>>> map = Maps.newLinkedHashMap();
     private final Map<Predicate<CategoryIdentifier<?>>, List<MenuInfoProvider<?, ?>>> mapGeneric = Maps.newLinkedHashMap();
+    /**
+     * The providers resolved per category and menu class, shared by the client and the server.
+     */
+    private final Map<ResolutionKey, List<MenuInfoProvider<?, ?>>> resolved = new ConcurrentHashMap<>();
     
     @Override
     public <C extends AbstractContainerMenu, D extends Display> void register(CategoryIdentifier<D> category, Class<C> menuClass, MenuInfoProvider<C, D> menuInfo) {
         map.computeIfAbsent(category, id -> Maps.newLinkedHashMap())
                 .computeIfAbsent(menuClass, c -> Lists.newArrayList())
                 .add(menuInfo);
+        invalidateResolved();
     }
     
     @Override
     public <D extends Display> void registerGeneric(Predicate<CategoryIdentifier<?>> categoryPredicate, MenuInfoProvider<?, D> menuInfo) {
         mapGeneric.computeIfAbsent(categoryPredicate, id -> Lists.newArrayList()).add(menuInfo);
+        invalidateResolved();
     }
     
     @Override
@@ -80,40 +88,45 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     }
     
     private <C extends AbstractContainerMenu, D extends Display> MenuInfo<C, D> getInternal(CategoryIdentifier<D> category, Class<C> menuClass, Function<MenuInfoProvider<C, D>, Optional<MenuInfo<C, D>>> function) {
-        Map<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>> infoMap = map.get(category);
+        for (MenuInfoProvider<?, ?> provider : resolved.computeIfAbsent(new ResolutionKey(category, menuClass), this::resolve)) {
+            Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) provider);
+            if (info.isPresent()) {
+                return info.get();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Collects the providers applicable to the category and menu class, in the order they should be tried.
+     * An empty list is cached as well, so menus without any provider are not resolved again.
+     */
+    private List<MenuInfoProvider<?, ?>> resolve(ResolutionKey key) {
+        List<MenuInfoProvider<?, ?>> providers = Lists.newArrayList();
+        Map<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>> infoMap = map.get(key.category());
         if (infoMap != null && !infoMap.isEmpty()) {
-            if (infoMap.containsKey(menuClass)) {
-                for (MenuInfoProvider<?, ?> provider : infoMap.get(menuClass)) {
-                    Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) provider);
-                    if (info.isPresent()) {
-                        return info.get();
-                    }
-                }
+            List<MenuInfoProvider<?, ?>> exact = infoMap.get(key.menuClass());
+            if (exact != null) {
+                providers.addAll(exact);
             }
             for (Map.Entry<Class<? extends AbstractContainerMenu>, List<MenuInfoProvider<?, ?>>> entry : infoMap.entrySet()) {
-                if (entry.getKey().isAssignableFrom(menuClass)) {
-                    for (MenuInfoProvider<?, ?> provider : entry.getValue()) {
-                        Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) provider);
-                        if (info.isPresent()) {
-                            return info.get();
-                        }
-                    }
+                if (entry.getKey() != key.menuClass() && entry.getKey().isAssignableFrom(key.menuClass())) {
+                    providers.addAll(entry.getValue());
                 }
             }
         }
         
         for (Map.Entry<Predicate<CategoryIdentifier<?>>, List<MenuInfoProvider<?, ?>>> entry : mapGeneric.entrySet()) {
-            if (entry.getKey().test(category) && !entry.getValue().isEmpty()) {
-                List<MenuInfoProvider<?, ?>> infoList = entry.getValue();
-                if (!infoList.isEmpty()) {
-                    Optional<MenuInfo<C, D>> info = function.apply((MenuInfoProvider<C, D>) infoList.get(0));
-                    if (info.isPresent()) {
-                        return info.get();
-                    }
-                }
+            List<MenuInfoProvider<?, ?>> infoList = entry.getValue();
+            if (!infoList.isEmpty() && entry.getKey().test(key.category())) {
+                providers.add(infoList.get(0));
             }
         }
-        return null;
+        return providers.isEmpty() ? Collections.emptyList() : providers;
+    }
+    
+    private void invalidateResolved() {
+        resolved.clear();
     }
     
     @Override
@@ -125,10 +138,18 @@ public class MenuInfoRegistryImpl implements MenuInfoRegistry {
     public void startReload() {
         map.clear();
         mapGeneric.clear();
+        invalidateResolved();
+    }
+    
+    @Override
+    public void endReload() {
+        invalidateResolved();
     }
     
     @Override
     public void acceptPlugin(REIServerPlugin plugin) {
         plugin.registerMenuInfo(this);
     }
+    
+    private record ResolutionKey(CategoryIdentifier<?> category, Class<? extends AbstractContainerMenu> menuClass) {}
 }
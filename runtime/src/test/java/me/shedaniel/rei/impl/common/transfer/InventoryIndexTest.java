@@ -0,0 +1,164 @@
+/*
+ * This file is licensed under the MIT License, part of Roughly Enough Items.
+ * Copyright (c) 2018, 2019, 2020, 2021 shedaniel
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package me.shedaniel.rei.impl.common.transfer;
+
+import me.shedaniel.rei.api.common.display.Display;
+import me.shedaniel.rei.api.common.transfer.info.stack.SlotAccessor;
+import net.minecraft.SharedConstants;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.TextComponent;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.Container;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drains two copies of synthetic inventories through {@link InputSlotCrafter#takeInventoryStack(ItemStack)},
+ * one indexed by {@link InventoryIndex} and one scanned linearly, and checks that both take the same slots.
+ */
+public class InventoryIndexTest {
+    private static final Item[] ITEMS = {Items.STONE, Items.DIRT, Items.OAK_PLANKS, Items.DIAMOND};
+    
+    @BeforeAll
+    public static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+    
+    @Test
+    public void findMatchesLinearScan() {
+        for (long seed = 0; seed < 50; seed++) {
+            Random random = new Random(seed);
+            List<SlotAccessor> slots = createSlots(random, 36);
+            List<SlotAccessor> indexedSlots = copySlots(slots);
+            InputSlotCrafter<?, ?, ?> linear = createCrafter(slots, false);
+            InputSlotCrafter<?, ?, ?> indexed = createCrafter(indexedSlots, true);
+            
+            for (int i = 0; i < 200; i++) {
+                ItemStack wanted = createStack(random, 1);
+                String message = "seed " + seed + ", lookup " + i;
+                SlotAccessor expected = linear.takeInventoryStack(wanted);
+                SlotAccessor actual = indexed.takeInventoryStack(wanted);
+                assertEquals(slots.indexOf(expected), indexedSlots.indexOf(actual), message);
+                if (expected != null) {
+                    expected.takeStack(1);
+                    actual.takeStack(1);
+                }
+                assertSameInventory(slots, indexedSlots, message);
+            }
+        }
+    }
+    
+    @Test
+    public void findSkipsIneligibleStacks() {
+        Random random = new Random(0);
+        List<SlotAccessor> slots = createSlots(random, 36);
+        ItemStack named = new ItemStack(Items.STONE, 16);
+        named.setHoverName(new TextComponent("Named"));
+        slots.add(0, new SyntheticSlot(named));
+        List<SlotAccessor> indexedSlots = copySlots(slots);
+        
+        ItemStack wanted = new ItemStack(Items.STONE);
+        wanted.setTag(named.getTag().copy());
+        assertEquals(slots.indexOf(createCrafter(slots, false).takeInventoryStack(wanted)),
+                indexedSlots.indexOf(createCrafter(indexedSlots, true).takeInventoryStack(wanted)));
+    }
+    
+    private static InputSlotCrafter<?, ?, ?> createCrafter(List<SlotAccessor> slots, boolean indexed) {
+        InputSlotCrafter<AbstractContainerMenu, Container, Display> crafter = new InputSlotCrafter<>(null, null);
+        crafter.setInventoryStacks(slots);
+        if (indexed) {
+            crafter.indexInventory();
+        }
+        return crafter;
+    }
+    
+    private static void assertSameInventory(List<SlotAccessor> expected, List<SlotAccessor> actual, String message) {
+        assertEquals(expected.size(), actual.size(), message);
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(ItemStack.matches(expected.get(i).getItemStack(), actual.get(i).getItemStack()), message + ", slot " + i);
+        }
+    }
+    
+    private static List<SlotAccessor> createSlots(Random random, int size) {
+        List<SlotAccessor> slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new SyntheticSlot(random.nextInt(5) == 0 ? ItemStack.EMPTY : createStack(random, 1 + random.nextInt(4))));
+        }
+        return slots;
+    }
+    
+    private static List<SlotAccessor> copySlots(List<SlotAccessor> slots) {
+        List<SlotAccessor> copy = new ArrayList<>(slots.size());
+        for (SlotAccessor slot : slots) {
+            copy.add(new SyntheticSlot(slot.getItemStack().copy()));
+        }
+        return copy;
+    }
+    
+    private static ItemStack createStack(Random random, int count) {
+        ItemStack stack = new ItemStack(ITEMS[random.nextInt(ITEMS.length)], count);
+        int variant = random.nextInt(4);
+        if (variant > 1) {
+            CompoundTag tag = new CompoundTag();
+            tag.putInt("variant", variant);
+            stack.setTag(tag);
+        }
+        return stack;
+    }
+    
+    private static class SyntheticSlot implements SlotAccessor {
+        private ItemStack stack;
+        
+        private SyntheticSlot(ItemStack stack) {
+            this.stack = stack;
+        }
+        
+        @Override
+        public ItemStack getItemStack() {
+            return stack;
+        }
+        
+        @Override
+        public void setItemStack(ItemStack stack) {
+            this.stack = stack;
+        }
+        
+        @Override
+        public ItemStack takeStack(int amount) {
+            return stack.split(amount);
+        }
+    }
+}